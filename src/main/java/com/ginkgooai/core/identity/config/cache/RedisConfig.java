@@ -11,8 +11,11 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 
 @Configuration
 public class RedisConfig {
@@ -61,4 +64,26 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean
+    public RedisTemplate<String, OAuth2Authorization> authorizationRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, OAuth2Authorization> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        // Authorization attributes hold framework principals that only round-trip through JDK serialization
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+
+        return template;
+    }
+
+    /**
+     * Listener container for cluster-wide cache invalidation messages
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
 }
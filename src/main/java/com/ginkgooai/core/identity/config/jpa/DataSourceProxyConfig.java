@@ -0,0 +1,38 @@
+package com.ginkgooai.core.identity.config.jpa;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource in a datasource-proxy that feeds {@link SqlStatementRecorder}, giving
+ * a per-request statement count and database time in place of logging every statement.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        SqlStatementRecorder recorder = new SqlStatementRecorder();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // A router is reached through the data source in front of it, which gets the proxy
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(recorder)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
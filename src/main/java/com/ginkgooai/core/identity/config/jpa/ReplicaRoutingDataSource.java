@@ -0,0 +1,154 @@
+package com.ginkgooai.core.identity.config.jpa;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpSession;
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to the replicas in turn and everything else to
+ * the primary. Must sit behind a LazyConnectionDataSourceProxy, so the connection is chosen at
+ * the first statement, once the transaction's read-only flag is known.
+ * <p>
+ * A read-write transaction marks the current user and HTTP session as having written; their
+ * read-only transactions then stay on the primary for the sticky window, covering replication
+ * lag for reads of their own writes. The marks are written to Redis with the window as TTL, so
+ * they hold whichever node serves the next request, and kept on the writing node as well, so
+ * its own follow-up reads skip the Redis lookup. Should Redis be unreachable, reads that might
+ * follow a write go to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+    private static final String USER_KEY = "user:";
+    private static final String SESSION_KEY = "session:";
+    private static final byte[] WRITTEN = "1".getBytes(StandardCharsets.UTF_8);
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String keyPrefix;
+    private final Duration stickyWindow;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration stickyWindow,
+                                    StringRedisTemplate stringRedisTemplate, String keyPrefix) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.stickyWindow = stickyWindow;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        List<String> writers = currentWriterKeys();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive() && !writers.isEmpty()) {
+                markWritten(writers);
+            }
+            return PRIMARY;
+        }
+
+        if (!writers.isEmpty() && recentlyWritten(writers)) {
+            return PRIMARY;
+        }
+        return REPLICA + Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * One pipelined SET PX per write transaction, for the user and session keys together
+     */
+    private void markWritten(List<String> writers) {
+        writers.forEach(key -> recentWriters.put(key, Boolean.TRUE));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : writers) {
+                    connection.stringCommands().set((keyPrefix + key).getBytes(StandardCharsets.UTF_8),
+                            WRITTEN, Expiration.from(stickyWindow), RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to share the read-your-writes mark", e);
+        }
+    }
+
+    private boolean recentlyWritten(List<String> writers) {
+        if (writers.stream().anyMatch(key -> recentWriters.getIfPresent(key) != null)) {
+            return true;
+        }
+        try {
+            Long existing = stringRedisTemplate.countExistingKeys(writers.stream().map(key -> keyPrefix + key).toList());
+            return existing != null && existing > 0;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the read-your-writes marks, reading from the primary", e);
+            return true;
+        }
+    }
+
+    private static List<String> currentWriterKeys() {
+        List<String> keys = new ArrayList<>(2);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            keys.add(USER_KEY + authentication.getName());
+        }
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession session = attributes.getRequest().getSession(false);
+            if (session != null) {
+                keys.add(SESSION_KEY + session.getId());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.ginkgooai.core.identity.config.jpa;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Records the statements executed on the current thread between {@link #start()} and
+ * {@link #stop()}, typically one HTTP request. Statements executed outside a recording, such as
+ * by scheduled jobs, are not tracked.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    /**
+     * @return Statements recorded since {@link #start()}, or null if no recording was started
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(execInfo.getElapsedTime(), queryInfoList);
+        }
+    }
+
+    /**
+     * Statements of one recording; a batch counts as one statement, being one round trip
+     */
+    public static final class Stats {
+
+        private int statementCount;
+        private long totalMillis;
+        private long slowestMillis = -1;
+        private List<QueryInfo> slowest;
+
+        private void record(long elapsedMillis, List<QueryInfo> queries) {
+            statementCount++;
+            totalMillis += elapsedMillis;
+            if (elapsedMillis > slowestMillis) {
+                slowestMillis = elapsedMillis;
+                slowest = queries;
+            }
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getSlowestMillis() {
+            return Math.max(slowestMillis, 0);
+        }
+
+        public String getSlowestStatement() {
+            return slowest == null || slowest.isEmpty() ? null : slowest.get(0).getQuery();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ginkgooai.core.identity.config.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Dedicated pool for the token path: authorization store lookups and writes and registered
+ * client reads. Slow user management and admin work on the default pool cannot exhaust it, so
+ * the token endpoint keeps its latency under admin load.
+ * <p>
+ * The beans are not default candidates and are only injected where qualified with
+ * {@link #TOKEN}; the auto-configured DataSource and JdbcTemplate stay the defaults. The pool
+ * always connects to the primary, as tokens are read right after being written.
+ */
+@Configuration
+public class TokenDataSourceConfig {
+
+    public static final String TOKEN = "token";
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(TOKEN)
+    @ConfigurationProperties("app.datasource.token.hikari")
+    public HikariDataSource tokenDataSource(DataSourceProperties dataSourceProperties,
+                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(TOKEN);
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(TOKEN)
+    public JdbcTemplate tokenJdbcTemplate(@Qualifier(TOKEN) DataSource tokenDataSource) {
+        return new JdbcTemplate(tokenDataSource);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.authorization")
+@Data
+public class AuthorizationCacheProperties {
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of authorizations (and token pointers) kept in the in-process tier
+     */
+    private long localMaximumSize = 50_000;
+
+    /**
+     * Kept short because a concurrent reader may re-populate an entry right after an invalidation
+     */
+    private Duration localTimeToLive = Duration.ofSeconds(30);
+
+    private Duration redisTimeToLive = Duration.ofMinutes(10);
+
+    private String redisKeyPrefix = "oauth2:authorization:";
+
+    private String invalidationChannel = "oauth2:authorization:invalidate";
+}
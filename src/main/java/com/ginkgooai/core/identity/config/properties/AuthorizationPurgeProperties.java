@@ -0,0 +1,38 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.housekeeping.authorization-purge")
+@Data
+public class AuthorizationPurgeProperties {
+    private boolean enabled = true;
+
+    private String cron = "0 */15 * * * *";
+
+    /**
+     * Rows deleted per statement; keeps each delete's lock footprint and WAL burst small
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Upper bound of batches per run, so a large backlog is worked off over several runs
+     */
+    private int maxBatchesPerRun = 100;
+
+    /**
+     * How long after its last token expires an authorization is kept
+     */
+    private Duration gracePeriod = Duration.ofHours(1);
+
+    private String lockKey = "housekeeping:authorization-purge:lock";
+
+    /**
+     * Must exceed the longest expected run; the lock expires on its own if a node dies mid-run
+     */
+    private Duration lockTimeToLive = Duration.ofMinutes(10);
+}
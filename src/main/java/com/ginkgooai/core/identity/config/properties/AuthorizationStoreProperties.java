@@ -0,0 +1,35 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.authorization-store.redis")
+@Data
+public class AuthorizationStoreProperties {
+    /**
+     * When disabled every authorization is persisted in Postgres regardless of client settings
+     */
+    private boolean enabled = true;
+
+    private String keyPrefix = "oauth2:ephemeral:";
+
+    /**
+     * Lifetime of an authorization that holds no token yet, e.g. one waiting for user consent
+     */
+    private Duration pendingTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Authorizations whose tokens outlive this are persisted in Postgres even for Redis clients
+     */
+    private Duration maxTimeToLive = Duration.ofHours(1);
+
+    /**
+     * How long a client's settings are reused to route its authorizations; a change of store or
+     * access token format applies to new saves within this delay
+     */
+    private Duration clientTimeToLive = Duration.ofMinutes(1);
+}
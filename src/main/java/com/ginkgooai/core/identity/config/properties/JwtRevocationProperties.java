@@ -0,0 +1,39 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.jwt-revocation")
+@Data
+public class JwtRevocationProperties {
+    /**
+     * When enabled, self-contained (JWT) access tokens are not persisted; they are validated by
+     * signature and expiry and revoked through the denylist only. Such tokens cannot be
+     * introspected or revoked individually. Authorizations granted the openid scope still
+     * persist their access token, which the OIDC UserInfo endpoint looks up.
+     */
+    private boolean statelessAccessTokens = false;
+
+    private String keyPrefix = "jwt:revoked:";
+
+    private String syncChannel = "jwt:revoked";
+
+    /**
+     * Sizing of the in-memory Bloom filter; once exceeded the false positive rate climbs until
+     * the next rebuild drops expired entries
+     */
+    private int expectedInsertions = 100_000;
+
+    private double falsePositiveProbability = 0.001;
+
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long a per-user revocation is kept; must exceed the longest access token lifetime
+     */
+    private Duration principalRevocationTimeToLive = Duration.ofDays(1);
+}
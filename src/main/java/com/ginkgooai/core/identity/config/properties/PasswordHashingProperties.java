@@ -0,0 +1,64 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Data
+public class PasswordHashingProperties {
+
+    /**
+     * Threads running BCrypt; leaves the remaining cores to token, JWKS and other requests
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Threads hashing the passwords of bulk imports, on a pool separate from sign-ins
+     */
+    private int importThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+    /**
+     * Hashes allowed to wait for a thread before new ones are rejected
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Longest a caller waits for its hash, queueing included, before giving up
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    /**
+     * Retry-After sent with the 503 returned on rejection
+     */
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    /**
+     * Algorithm new hashes are written with: bcrypt, argon2 or pbkdf2. Hashes written with any
+     * other algorithm or weaker parameters are re-encoded on the user's next successful login.
+     */
+    private String algorithm = "bcrypt";
+
+    private int bcryptStrength = 10;
+
+    private int argon2MemoryKib = 16_384;
+
+    private int argon2Iterations = 2;
+
+    private int argon2Parallelism = 1;
+
+    private int pbkdf2Iterations = 310_000;
+
+    /**
+     * Log a calibration of every candidate algorithm and cost once the application is ready
+     */
+    private boolean calibrateOnStartup = false;
+
+    /**
+     * Timed hashes per candidate, after one warm-up hash
+     */
+    private int calibrationSamples = 5;
+}
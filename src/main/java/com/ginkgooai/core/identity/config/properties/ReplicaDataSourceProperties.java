@@ -0,0 +1,46 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+@Data
+public class ReplicaDataSourceProperties {
+
+    /**
+     * When disabled every query goes to spring.datasource
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC urls of the read replicas, used in turn
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Defaults to spring.datasource.username
+     */
+    private String username;
+
+    /**
+     * Defaults to spring.datasource.password
+     */
+    private String password;
+
+    /**
+     * How long reads of a user or session stay on the primary after it wrote, so they do not
+     * miss their own writes on a lagging replica
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * Prefix of the Redis keys sharing the sticky window across nodes
+     */
+    private String writerKeyPrefix = "datasource:writer:";
+}
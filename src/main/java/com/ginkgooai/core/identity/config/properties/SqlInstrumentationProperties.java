@@ -0,0 +1,30 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-instrumentation")
+@Data
+public class SqlInstrumentationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Statements one request may issue before a warning is logged; usually a sign of N+1 access
+     */
+    private int statementBudget = 25;
+
+    /**
+     * Total database time one request may spend before a warning is logged
+     */
+    private Duration timeBudget = Duration.ofMillis(500);
+
+    /**
+     * Longest statement text included in warnings
+     */
+    private int maxLoggedStatementLength = 500;
+}
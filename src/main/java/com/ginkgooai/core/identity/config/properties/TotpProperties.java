@@ -0,0 +1,44 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import com.ginkgooai.core.identity.enums.TotpAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * TOTP parameters. Algorithm, digits and period are part of every enrolled authenticator, so
+ * changing them invalidates existing enrollments; they are announced in the otpauth URI.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.mfa.totp")
+@Data
+public class TotpProperties {
+
+    private String issuer = "ginkgoo";
+
+    private TotpAlgorithm algorithm = TotpAlgorithm.SHA1;
+
+    /**
+     * Code length, 6 to 9 digits
+     */
+    private int digits = 6;
+
+    private Duration period = Duration.ofSeconds(30);
+
+    /**
+     * Steps accepted on either side of the current one, to tolerate clock drift
+     */
+    private int window = 1;
+
+    /**
+     * Prefix of the Redis keys holding the last accepted time step of each MFA method
+     */
+    private String replayKeyPrefix = "mfa:totp:last-step:";
+
+    /**
+     * Decoded secret keys kept in memory, so repeated checks skip Base32 decoding
+     */
+    private int keyCacheSize = 10000;
+}
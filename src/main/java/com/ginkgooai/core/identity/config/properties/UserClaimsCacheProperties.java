@@ -0,0 +1,23 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.user-claims")
+@Data
+public class UserClaimsCacheProperties {
+    private boolean enabled = true;
+
+    private long maximumSize = 20_000;
+
+    /**
+     * Upper bound on staleness should an invalidation message be lost
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    private String invalidationChannel = "user:claims:invalidate";
+}
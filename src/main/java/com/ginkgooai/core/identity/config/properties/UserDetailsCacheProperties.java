@@ -0,0 +1,24 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.user-details")
+@Data
+public class UserDetailsCacheProperties {
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long a changed password or status may still be honoured should an
+     * invalidation message be lost
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    private String invalidationChannel = "user:details:invalidate";
+}
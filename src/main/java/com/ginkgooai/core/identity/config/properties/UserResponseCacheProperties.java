@@ -0,0 +1,21 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.user-response")
+@Data
+public class UserResponseCacheProperties {
+    private boolean enabled = true;
+
+    /**
+     * Also bounds staleness should an eviction race with a concurrent bulk lookup
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    private String keyPrefix = "user:response:";
+}
@@ -0,0 +1,18 @@
+package com.ginkgooai.core.identity.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.user-search")
+@Data
+public class UserSearchProperties {
+
+    /**
+     * Latency budget of one search query; the database cancels it when exceeded
+     */
+    private Duration statementTimeout = Duration.ofMillis(200);
+}
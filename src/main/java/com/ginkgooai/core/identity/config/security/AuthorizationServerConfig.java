@@ -1,10 +1,13 @@
 package com.ginkgooai.core.identity.config.security;
 
+import com.ginkgooai.core.identity.config.jpa.TokenDataSourceConfig;
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import com.ginkgooai.core.identity.dto.UserClaims;
 import com.ginkgooai.core.identity.dto.UserInfoAuthentication;
-import com.ginkgooai.core.identity.dto.response.UserResponse;
 import com.ginkgooai.core.identity.exception.ResourceNotFoundException;
 import com.ginkgooai.core.identity.handler.CustomLogoutSuccessHandler;
 import com.ginkgooai.core.identity.security.FederatedIdentityIdTokenCustomizer;
+import com.ginkgooai.core.identity.security.PasswordEncoders;
 import com.ginkgooai.core.identity.security.ShareCodeGrantAuthenticationConverter;
 import com.ginkgooai.core.identity.security.ShareCodeGrantAuthenticationProvider;
 import com.ginkgooai.core.identity.service.ShareCodeService;
@@ -13,6 +16,7 @@ import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +28,7 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
@@ -34,6 +39,7 @@ import org.springframework.security.oauth2.server.authorization.JdbcOAuth2Author
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.authentication.ClientSecretAuthenticationProvider;
 import org.springframework.security.oauth2.server.authorization.client.JdbcRegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
@@ -72,8 +78,10 @@ public class AuthorizationServerConfig {
     }
 
     @Bean
-    public RegisteredClientRepository registeredClientRepository(JdbcTemplate jdbcTemplate) {
-        return new JdbcRegisteredClientRepository(jdbcTemplate);
+    public RegisteredClientRepository registeredClientRepository(
+            @Qualifier(TokenDataSourceConfig.TOKEN) JdbcTemplate tokenJdbcTemplate) {
+        // Clients are authenticated on every token request, so they are read from the token pool
+        return new JdbcRegisteredClientRepository(tokenJdbcTemplate);
     }
 
     @Bean
@@ -90,14 +98,24 @@ public class AuthorizationServerConfig {
             OAuth2AuthorizationService authorizationService,
             OAuth2TokenGenerator<?> tokenGenerator,
                                                                       ShareCodeService shareCodeService,
-            CustomLogoutSuccessHandler customLogoutSuccessHandler)
+            CustomLogoutSuccessHandler customLogoutSuccessHandler,
+            PasswordHashingProperties passwordHashingProperties)
             throws Exception {
+        // Client secrets are checked outside the bounded login hashing queue, so a burst of
+        // logins cannot turn token requests away
+        PasswordEncoder clientSecretEncoder = PasswordEncoders.delegating(passwordHashingProperties);
         OAuth2AuthorizationServerConfigurer authorizationServerConfigurer = OAuth2AuthorizationServerConfigurer
                 .authorizationServer();
         http.securityMatcher(authorizationServerConfigurer.getEndpointsMatcher())
                 .cors(Customizer.withDefaults())
                 .securityMatcher(authorizationServerConfigurer.getEndpointsMatcher())
                 .with(authorizationServerConfigurer, (authorizationServer) -> authorizationServer
+                        .authorizationService(authorizationService)
+                        .clientAuthentication(clientAuthentication -> clientAuthentication
+                                .authenticationProviders(providers -> providers.stream()
+                                        .filter(ClientSecretAuthenticationProvider.class::isInstance)
+                                        .map(ClientSecretAuthenticationProvider.class::cast)
+                                        .forEach(provider -> provider.setPasswordEncoder(clientSecretEncoder))))
                         // .authorizationEndpoint(endpoint ->
                         // endpoint.consentPage("/oauth2/consent")
                         // )
@@ -156,9 +174,9 @@ public class AuthorizationServerConfig {
             }
 
 			try {
-				UserResponse userResponse = userService.loadUser(email);
+				UserClaims userClaims = userService.loadUserClaims(email);
 				String sub = authorization.getAccessToken().getClaims().get("sub").toString();
-				return buildOidcUserInfo(userResponse, sub);
+				return buildOidcUserInfo(userClaims, sub);
 			}
 			catch (ResourceNotFoundException e) {
 				// Log the error for debugging but don't interrupt the authentication flow
@@ -203,18 +221,18 @@ public class AuthorizationServerConfig {
         return null;
     }
 
-    private OidcUserInfo buildOidcUserInfo(UserResponse userResponse, String sub) {
+    private OidcUserInfo buildOidcUserInfo(UserClaims userClaims, String sub) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("id", userResponse.getId());
+        claims.put("id", userClaims.getId());
         claims.put("sub", sub);
-        claims.put("email", userResponse.getEmail());
+        claims.put("email", userClaims.getEmail());
         claims.put("email_verified", true);
-        claims.put("first_name", userResponse.getFirstName());
-        claims.put("last_name", userResponse.getLastName());
-        claims.put("name", userResponse.getFirstName() + " " + userResponse.getLastName());
+        claims.put("first_name", userClaims.getFirstName());
+        claims.put("last_name", userClaims.getLastName());
+        claims.put("name", userClaims.getFirstName() + " " + userClaims.getLastName());
 
-        if (userResponse.getRoles() != null) {
-            claims.put("roles", userResponse.getRoles());
+        if (userClaims.getRoles() != null) {
+            claims.put("roles", userClaims.getRoles());
         }
 
         return new OidcUserInfo(claims);
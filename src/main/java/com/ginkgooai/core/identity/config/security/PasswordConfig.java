@@ -1,15 +1,18 @@
 package com.ginkgooai.core.identity.config.security;
 
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import com.ginkgooai.core.identity.security.BoundedPasswordEncoder;
+import com.ginkgooai.core.identity.security.PasswordEncoders;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(PasswordEncoders.delegating(properties), properties, meterRegistry);
     }
-}
\ No newline at end of file
+}
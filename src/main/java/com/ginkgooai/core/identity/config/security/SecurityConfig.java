@@ -31,6 +31,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
@@ -198,6 +199,8 @@ public class SecurityConfig {
 				.authenticated()
 				.requestMatchers(HttpMethod.GET, "/users")
 				.authenticated()
+				.requestMatchers(HttpMethod.POST, "/users/bulk-resolve")
+				.authenticated()
 				.anyRequest()
 				.hasAnyRole("USER", "ADMIN"))
 			.oauth2Login(oauth2 -> oauth2.loginPage("/login")
@@ -280,6 +283,9 @@ public class SecurityConfig {
 		DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
 		provider.setUserDetailsService(userDetailsService);
 		provider.setPasswordEncoder(passwordEncoder);
+		if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+			provider.setUserDetailsPasswordService(passwordService);
+		}
 		return new ProviderManager(provider);
 	}
 
@@ -1,7 +1,11 @@
 package com.ginkgooai.core.identity.controller;
 
 import com.ginkgooai.core.identity.dto.request.UserActivationRequest;
+import com.ginkgooai.core.identity.dto.response.PasswordHashCalibrationResponse;
+import com.ginkgooai.core.identity.dto.response.UserImportResponse;
 import com.ginkgooai.core.identity.dto.response.UserResponse;
+import com.ginkgooai.core.identity.service.PasswordHashCalibrationService;
+import com.ginkgooai.core.identity.service.UserImportService;
 import com.ginkgooai.core.identity.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +17,16 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @Slf4j
 @Validated
 @RestController
@@ -28,6 +37,10 @@ public class AdminController {
 
 	private final UserService userService;
 
+	private final PasswordHashCalibrationService passwordHashCalibrationService;
+
+	private final UserImportService userImportService;
+
 	@PatchMapping("/users/{userId}/activation")
 	@Operation(summary = "Activate or deactivate user",
 			description = "Activate or deactivate a user by ID. Requires ADMIN role.")
@@ -48,4 +61,32 @@ public class AdminController {
 		return ResponseEntity.ok(userResponse);
 	}
 
-}
\ No newline at end of file
+	@PostMapping("/password-hashing/calibration")
+	@Operation(summary = "Calibrate password hashing",
+			description = "Measure hash time and sustainable logins per second for each supported algorithm and cost "
+					+ "on this instance. CPU intensive; takes several seconds.")
+	@ApiResponses({ @ApiResponse(responseCode = "200", description = "Calibration results") })
+	public ResponseEntity<List<PasswordHashCalibrationResponse>> calibratePasswordHashing() {
+		log.info("Running password hash calibration");
+		return ResponseEntity.ok(passwordHashCalibrationService.calibrate());
+	}
+
+	@PostMapping(value = "/users/import",
+			consumes = { UserImportService.TEXT_CSV, UserImportService.APPLICATION_NDJSON })
+	@Operation(summary = "Import users in bulk",
+			description = "Create users from a CSV file with a header row (email, first_name, last_name, password) or "
+					+ "from newline-delimited JSON objects with the same fields. Only email is required. Rows whose "
+					+ "email is already registered are reported as duplicates.")
+	@ApiResponses({ @ApiResponse(responseCode = "200", description = "Per-row import report") })
+	public ResponseEntity<UserImportResponse> importUsers(InputStream body,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			@RequestParam(defaultValue = "false") @Parameter(
+					description = "Create users as active instead of awaiting email verification") boolean activate)
+			throws IOException {
+		UserImportResponse report = userImportService.importUsers(body, contentType, activate);
+		log.info("Imported users: {} created, {} duplicates, {} invalid, {} failed", report.getCreated(),
+				report.getDuplicates(), report.getInvalid(), report.getFailed());
+		return ResponseEntity.ok(report);
+	}
+
+}
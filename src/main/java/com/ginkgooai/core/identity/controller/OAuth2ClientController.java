@@ -2,6 +2,7 @@ package com.ginkgooai.core.identity.controller;
 
 import com.ginkgooai.core.identity.dto.request.CreateClientRequest;
 import com.ginkgooai.core.identity.dto.response.RegisteredClientDTO;
+import com.ginkgooai.core.identity.enums.AuthorizationStore;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -144,6 +145,7 @@ public class OAuth2ClientController {
                 .clientSettings(ClientSettings.builder()
                         .requireAuthorizationConsent(request.isRequireAuthorizationConsent())
                         .requireProofKey(request.isRequireProofKey())
+                        .setting(AuthorizationStore.CLIENT_SETTING_NAME, request.getAuthorizationStore().name())
                         .build())
                 .tokenSettings(TokenSettings.builder()
                         .accessTokenTimeToLive(Duration.ofSeconds(request.getAccessTokenTtl()))
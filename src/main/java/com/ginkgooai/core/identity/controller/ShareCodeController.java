@@ -37,15 +37,17 @@ public class ShareCodeController {
 
 		int expiryHours = request.expiryHours() > 0 ? request.expiryHours() : 24;
 
-		UserInfo user = userRepository.findByEmail(request.guestEmail()).orElseGet(() ->
-			userRepository.save(UserInfo.builder()
+		// Returns the existing user if the guest is already registered, even concurrently
+		String[] guestNames = request.guestName == null ? new String[0] : request.guestName.trim().split(" ", 2);
+		UserInfo user = userRepository.insertIfAbsent(UserInfo.builder()
 				.email(request.guestEmail)
-				.firstName(request.guestName.split(" ")[0])
-				.lastName(request.guestName.split(" ")[1])
+				.firstName(guestNames.length > 0 ? guestNames[0] : null)
+				.lastName(guestNames.length > 1 ? guestNames[1] : null)
 				.roles(request.roles)
 				.loginMethods(List.of(LoginMethod.TEMP_TOKEN.name()))
 				.status(UserStatus.ACTIVE)
-				.build()));
+				.build())
+			.user();
 
 		String shareCode =
 			shareCodeService.generateShareCode(
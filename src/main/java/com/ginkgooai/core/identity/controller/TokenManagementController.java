@@ -1,14 +1,19 @@
 package com.ginkgooai.core.identity.controller;
 
 import com.ginkgooai.core.identity.dto.TokenInfo;
+import com.ginkgooai.core.identity.dto.TokenPage;
+import com.ginkgooai.core.identity.dto.response.TokenRevocationResponse;
 import com.ginkgooai.core.identity.service.TokenManagementService;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")  // Requires ADMIN role for all endpoints
 @Slf4j
 @Hidden
+@Validated
 public class TokenManagementController {
 
     private final TokenManagementService tokenService;
@@ -35,6 +41,16 @@ public class TokenManagementController {
         return ResponseEntity.ok(tokenService.getAllActiveTokens(pageable));
     }
 
+    /**
+     * Get active tokens with keyset pagination, newest first
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<TokenPage> getActiveTokens(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(tokenService.getActiveTokens(cursor, size));
+    }
+
     /**
      * Get all tokens for a specific user
      */
@@ -48,20 +64,18 @@ public class TokenManagementController {
      * Revoke all tokens for a specific user
      */
     @DeleteMapping("/user/{username}")
-    public ResponseEntity<Void> revokeUserTokens(
+    public ResponseEntity<TokenRevocationResponse> revokeUserTokens(
             @PathVariable String username) {
-        tokenService.revokeTokens(username);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(new TokenRevocationResponse(tokenService.revokeTokens(username)));
     }
 
     /**
      * Revoke tokens for specific client and user
      */
     @DeleteMapping("/user/{username}/client/{clientId}")
-    public ResponseEntity<Void> revokeClientTokens(
+    public ResponseEntity<TokenRevocationResponse> revokeClientTokens(
             @PathVariable String username,
             @PathVariable String clientId) {
-        tokenService.revokeClientTokens(username, clientId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(new TokenRevocationResponse(tokenService.revokeClientTokens(username, clientId)));
     }
 }
@@ -3,10 +3,12 @@ package com.ginkgooai.core.identity.controller;
 import com.ginkgooai.core.common.utils.ContextUtils;
 import com.ginkgooai.core.identity.aop.GuestAccessDenied;
 import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.dto.UserSearchPage;
 import com.ginkgooai.core.identity.dto.request.*;
 import com.ginkgooai.core.identity.dto.response.UserResponse;
 import com.ginkgooai.core.identity.exception.InvalidVerificationCodeException;
 import com.ginkgooai.core.identity.service.ShareCodeService;
+import com.ginkgooai.core.identity.service.UserLookupService;
 import com.ginkgooai.core.identity.service.UserService;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
@@ -24,8 +28,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -41,14 +47,14 @@ public class UserInfoController {
 
     private final ShareCodeService shareCodeService;
 
+    private final UserLookupService userLookupService;
+
     @GetMapping("/me")
     @Operation(summary = "Get user info", description = "MVP:Retrieve information about the currently authenticated user")
     @GuestAccessDenied(message = "Guest users cannot access user details")
     public ResponseEntity<UserResponse> getCurrentUserInfo() {
         log.debug("Retrieving info for user: {}", ContextUtils.getUserId());
-        UserInfo userInfo = userService.getUserById(ContextUtils.getUserId());
-        
-        return ResponseEntity.ok(UserResponse.from(userInfo));
+        return ResponseEntity.ok(userService.getUserProfile(ContextUtils.getUserId()));
     }
 
     @GetMapping("/{userId}")
@@ -56,8 +62,7 @@ public class UserInfoController {
     @Hidden
     public ResponseEntity<UserResponse> getUserInfo(@PathVariable String userId) {
         log.debug("Retrieving info for user: {}", userId);
-        UserInfo userInfo = userService.getUserById(userId);
-        return ResponseEntity.ok(UserResponse.from(userInfo));
+        return ResponseEntity.ok(userService.getUserProfile(userId));
     }
 
     @GetMapping("")
@@ -75,6 +80,43 @@ public class UserInfoController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search users",
+            description = "Admin only. Search users by email or name substring, most relevant first, with keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "A page of matching users"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+            @ApiResponse(responseCode = "503", description = "Search exceeded its time budget",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+    })
+    public ResponseEntity<UserSearchPage> searchUsersByText(
+            @RequestParam("q") @Size(min = 3, max = 100) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(userService.searchUsers(query, cursor, size));
+    }
+
+    @PostMapping(value = "/bulk-resolve", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Resolve users in bulk",
+            description = "Resolve up to 5000 users by id and/or email in one call. Returns one entry per distinct " +
+                    "user found, in no particular order; unknown ids and emails are omitted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Array of user information"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+    })
+    public ResponseEntity<StreamingResponseBody> resolveUsers(@Valid @RequestBody UserBulkResolveRequest request) {
+        log.debug("Resolving {} ids and {} emails", request.getIds().size(), request.getEmails().size());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> userLookupService.resolve(request.getIds(), request.getEmails(), out));
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Register new user", description = "Register a new user with email verification required")
@@ -3,6 +3,7 @@ package com.ginkgooai.core.identity.domain;
 import com.ginkgooai.core.identity.domain.enums.MfaStatus;
 import com.ginkgooai.core.identity.domain.enums.MfaType;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ginkgooai.core.identity.domain.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -20,7 +21,7 @@ import java.util.Objects;
 public class MfaInfo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "id", length = 36, nullable = false)
     private String id;
 
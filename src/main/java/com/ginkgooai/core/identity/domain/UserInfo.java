@@ -1,6 +1,9 @@
 package com.ginkgooai.core.identity.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ginkgooai.core.identity.domain.enums.MfaType;
+import com.ginkgooai.core.identity.domain.id.UuidV7Id;
+import com.ginkgooai.core.identity.service.cache.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import lombok.*;
@@ -22,11 +25,11 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "user_info")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserCacheInvalidationListener.class})
 public class UserInfo extends BaseAuditableEntity implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "id", length = 36, nullable = false)
     private String id;
 
@@ -68,11 +71,17 @@ public class UserInfo extends BaseAuditableEntity implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<MfaInfo> mfaInfos = new HashSet<>();
 
-    @Transient
-    public boolean isMfaEnabled() {
-        return mfaInfos.stream()
-                .anyMatch(mfa -> mfa.isEnabled() && mfa.isDefault());
-    }
+    /**
+     * Whether the default MFA method is enabled. Read-only here: written only by
+     * UserRepository#refreshMfaFlags, so a stale UserInfo flushed later cannot write old flags back
+     */
+    @Column(name = "mfa_enabled", nullable = false, insertable = false, updatable = false)
+    private boolean mfaEnabled;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "default_mfa_type", length = 20, insertable = false, updatable = false)
+    private MfaType defaultMfaType;
+
 
     @Transient
     public MfaInfo getDefaultMfa() {
@@ -1,5 +1,6 @@
 package com.ginkgooai.core.identity.domain;
 
+import com.ginkgooai.core.identity.domain.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 @Table(name = "user_social_connection")
 public class UserSocialConnection {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "id", length = 36, nullable = false)
     private String id;
 
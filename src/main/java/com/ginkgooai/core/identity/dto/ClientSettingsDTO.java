@@ -1,5 +1,6 @@
 package com.ginkgooai.core.identity.dto;
 
+import com.ginkgooai.core.identity.enums.AuthorizationStore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,4 +11,5 @@ import lombok.NoArgsConstructor;
 public class ClientSettingsDTO {
     private boolean requireAuthorizationConsent;
     private boolean requireProofKey;
+    private AuthorizationStore authorizationStore;
 }
@@ -0,0 +1,14 @@
+package com.ginkgooai.core.identity.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TokenPage {
+    private List<TokenInfo> content;
+    private String nextCursor;      // Opaque cursor for the next page, null on the last page
+    private long estimatedTotal;    // Planner estimate, not an exact count
+}
@@ -0,0 +1,55 @@
+package com.ginkgooai.core.identity.dto;
+
+import com.ginkgooai.core.identity.domain.UserStatus;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The subset of a user that goes into tokens and the OIDC userinfo response, plus the MFA flag
+ * checked before login, loaded as a projection so neither the entity nor its associations are
+ * touched while minting tokens or authenticating
+ */
+@Getter
+public class UserClaims {
+    private final String id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final List<String> roles;
+    private final boolean enabled;
+    private final boolean mfaEnabled;
+
+    public UserClaims(String id, String email, String firstName, String lastName,
+                      List<String> roles, UserStatus status, boolean mfaEnabled) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.roles = roles == null ? null : List.copyOf(roles);
+        this.enabled = status == UserStatus.ACTIVE;
+        this.mfaEnabled = mfaEnabled;
+    }
+
+    /**
+     * Same as {@link com.ginkgooai.core.identity.domain.UserInfo#getName()}
+     */
+    public String getName() {
+        return String.join(" ", firstName, lastName);
+    }
+
+    /**
+     * Same as {@link com.ginkgooai.core.identity.domain.UserInfo#getAuthorities()}
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        if (roles == null || roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return roles.stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+    }
+}
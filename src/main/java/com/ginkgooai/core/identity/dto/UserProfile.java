@@ -0,0 +1,44 @@
+package com.ginkgooai.core.identity.dto;
+
+import com.ginkgooai.core.identity.domain.UserStatus;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Read model behind the user endpoints, loaded with a single query per lookup or batch.
+ * {@code sub} is the lowest social {@code provider_user_id} of the user, selected in the same
+ * query instead of initializing the social connections collection.
+ */
+@Getter
+public class UserProfile {
+    private final String id;
+    private final String sub;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final String picture;
+    private final List<String> roles;
+    private final List<String> loginMethods;
+    private final boolean enabled;
+
+    public UserProfile(String id, String sub, String email, String firstName, String lastName, String picture,
+                       List<String> roles, List<String> loginMethods, UserStatus status) {
+        this.id = id;
+        this.sub = sub;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.picture = picture;
+        this.roles = roles;
+        this.loginMethods = loginMethods;
+        this.enabled = status == UserStatus.ACTIVE;
+    }
+
+    /**
+     * Same as {@link com.ginkgooai.core.identity.domain.UserInfo#getName()}
+     */
+    public String getName() {
+        return String.join(" ", firstName, lastName);
+    }
+}
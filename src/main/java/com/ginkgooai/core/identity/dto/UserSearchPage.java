@@ -0,0 +1,14 @@
+package com.ginkgooai.core.identity.dto;
+
+import com.ginkgooai.core.identity.dto.response.UserResponse;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UserSearchPage {
+    private List<UserResponse> content;
+    private String nextCursor;      // Opaque cursor for the next page, null on the last page
+}
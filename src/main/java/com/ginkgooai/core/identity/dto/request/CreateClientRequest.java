@@ -1,7 +1,9 @@
 package com.ginkgooai.core.identity.dto.request;
 
+import com.ginkgooai.core.identity.enums.AuthorizationStore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.util.Set;
@@ -38,4 +40,7 @@ public class CreateClientRequest {
     private long refreshTokenTtl= 2592000;  // 30 days
     
     private boolean reuseRefreshTokens = true;
+
+    @NotNull
+    private AuthorizationStore authorizationStore = AuthorizationStore.JDBC;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.ginkgooai.core.identity.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Users to resolve by id and/or email")
+public class UserBulkResolveRequest {
+
+	@Size(max = 5000)
+	@JsonSetter(nulls = Nulls.AS_EMPTY)
+	@Schema(description = "User ids")
+	private List<String> ids = new ArrayList<>();
+
+	@Size(max = 5000)
+	@JsonSetter(nulls = Nulls.AS_EMPTY)
+	@Schema(description = "User email addresses")
+	private List<String> emails = new ArrayList<>();
+
+	@AssertTrue(message = "at most 5000 ids and emails in total")
+	@Schema(hidden = true)
+	public boolean isWithinLimit() {
+		return ids.size() + emails.size() <= 5000;
+	}
+}
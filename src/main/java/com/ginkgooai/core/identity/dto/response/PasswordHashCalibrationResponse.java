@@ -0,0 +1,28 @@
+package com.ginkgooai.core.identity.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Measured cost of one password hashing configuration on this instance")
+public class PasswordHashCalibrationResponse {
+    @Schema(description = "Hashing algorithm", example = "bcrypt")
+    private String algorithm;
+
+    @Schema(description = "Cost parameters", example = "strength=12")
+    private String parameters;
+
+    @Schema(description = "Median time of one hash in milliseconds")
+    private double medianMillis;
+
+    @Schema(description = "Logins per second one core can sustain")
+    private double loginsPerSecondPerCore;
+
+    @Schema(description = "Logins per second the configured hashing threads can sustain")
+    private double loginsPerSecond;
+
+    @Schema(description = "Whether this is the configuration new hashes are written with")
+    private boolean current;
+}
@@ -2,6 +2,7 @@ package com.ginkgooai.core.identity.dto.response;
 
 import com.ginkgooai.core.identity.dto.ClientSettingsDTO;
 import com.ginkgooai.core.identity.dto.TokenSettingsDTO;
+import com.ginkgooai.core.identity.enums.AuthorizationStore;
 import lombok.Data;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
@@ -43,6 +44,8 @@ public class RegisteredClientDTO {
             client.getClientSettings().isRequireAuthorizationConsent());
         settingsDTO.setRequireProofKey(
             client.getClientSettings().isRequireProofKey());
+        settingsDTO.setAuthorizationStore(
+            AuthorizationStore.of(client.getClientSettings()));
         dto.setClientSettings(settingsDTO);
         
         // 转换令牌设置
@@ -0,0 +1,10 @@
+package com.ginkgooai.core.identity.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenRevocationResponse {
+    private int revoked;  // Number of authorizations removed
+}
@@ -0,0 +1,26 @@
+package com.ginkgooai.core.identity.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "Report of a bulk user import")
+public class UserImportResponse {
+    @Schema(description = "Rows read")
+    private int total;
+
+    private int created;
+
+    private int duplicates;
+
+    private int invalid;
+
+    private int failed;
+
+    @Schema(description = "One result per row, in file order")
+    private List<UserImportRowResult> rows;
+}
@@ -0,0 +1,26 @@
+package com.ginkgooai.core.identity.dto.response;
+
+import com.ginkgooai.core.identity.enums.UserImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of one imported row")
+public class UserImportRowResult {
+    @Schema(description = "1-based line number in the uploaded file")
+    private long line;
+
+    @Schema(description = "Email of the row, if one could be read")
+    private String email;
+
+    @Schema(description = "Outcome of the row")
+    private UserImportStatus status;
+
+    @Schema(description = "Id of the created user")
+    private String userId;
+
+    @Schema(description = "Reason the row was not created")
+    private String message;
+}
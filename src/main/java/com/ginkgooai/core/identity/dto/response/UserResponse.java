@@ -1,6 +1,7 @@
 package com.ginkgooai.core.identity.dto.response;
 
 import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.dto.UserProfile;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
@@ -58,4 +59,19 @@ public class UserResponse {
 			.enabled(user.isEnabled())
 			.build();
 	}
-}
\ No newline at end of file
+
+	public static UserResponse from(UserProfile user) {
+		return UserResponse.builder()
+			.id(user.getId())
+			.sub(user.getSub())
+			.email(user.getEmail())
+			.firstName(user.getFirstName())
+			.lastName(user.getLastName())
+			.name(user.getName())
+			.picture(user.getPicture())
+			.roles(user.getRoles())
+			.loginMethods(user.getLoginMethods())
+			.enabled(user.isEnabled())
+			.build();
+	}
+}
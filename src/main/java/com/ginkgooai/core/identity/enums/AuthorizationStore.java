@@ -0,0 +1,27 @@
+package com.ginkgooai.core.identity.enums;
+
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+
+/**
+ * Where a registered client's authorizations are kept, selected through a client setting
+ */
+public enum AuthorizationStore {
+    /**
+     * Every authorization is persisted in oauth2_authorization
+     */
+    JDBC,
+
+    /**
+     * Authorizations without a refresh token (pending requests, authorization codes,
+     * short-lived access tokens) live in Redis with a native TTL; once a refresh token is
+     * issued the authorization moves to oauth2_authorization
+     */
+    REDIS;
+
+    public static final String CLIENT_SETTING_NAME = "settings.client.authorization-store";
+
+    public static AuthorizationStore of(ClientSettings clientSettings) {
+        Object value = clientSettings.getSetting(CLIENT_SETTING_NAME);
+        return value == null ? JDBC : valueOf(value.toString());
+    }
+}
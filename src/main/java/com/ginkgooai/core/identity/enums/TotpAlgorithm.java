@@ -0,0 +1,28 @@
+package com.ginkgooai.core.identity.enums;
+
+/**
+ * HMAC algorithm of TOTP codes, with the name authenticator apps expect in otpauth URIs
+ */
+public enum TotpAlgorithm {
+    SHA1("HmacSHA1", 20),
+    SHA256("HmacSHA256", 32);
+
+    private final String macAlgorithm;
+    private final int secretLength;
+
+    TotpAlgorithm(String macAlgorithm, int secretLength) {
+        this.macAlgorithm = macAlgorithm;
+        this.secretLength = secretLength;
+    }
+
+    public String getMacAlgorithm() {
+        return macAlgorithm;
+    }
+
+    /**
+     * Recommended secret length in bytes, the output length of the hash (RFC 4226, section 4)
+     */
+    public int getSecretLength() {
+        return secretLength;
+    }
+}
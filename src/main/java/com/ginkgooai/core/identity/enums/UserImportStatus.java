@@ -0,0 +1,8 @@
+package com.ginkgooai.core.identity.enums;
+
+public enum UserImportStatus {
+    CREATED,
+    DUPLICATE,  // Email already registered, or repeated earlier in the file
+    INVALID,    // Row could not be parsed or is missing a valid email
+    FAILED      // Row was valid but could not be stored; safe to retry
+}
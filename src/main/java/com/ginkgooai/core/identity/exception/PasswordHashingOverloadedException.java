@@ -0,0 +1,14 @@
+package com.ginkgooai.core.identity.exception;
+
+import com.ginkgooai.core.common.exception.BaseRuntimeException;
+import org.springframework.http.HttpStatus;
+
+public class PasswordHashingOverloadedException extends BaseRuntimeException {
+    private static final String TYPE = "https://api.ginkgoo.com/errors/password-hashing-overloaded";
+    private static final String TITLE = "Service Overloaded";
+    private static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+
+    public PasswordHashingOverloadedException(String detail) {
+        super(TYPE, TITLE, detail, STATUS);
+    }
+}
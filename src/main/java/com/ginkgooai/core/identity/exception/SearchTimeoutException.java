@@ -0,0 +1,14 @@
+package com.ginkgooai.core.identity.exception;
+
+import com.ginkgooai.core.common.exception.BaseRuntimeException;
+import org.springframework.http.HttpStatus;
+
+public class SearchTimeoutException extends BaseRuntimeException {
+    private static final String TYPE = "https://api.ginkgoo.com/errors/search-timeout";
+    private static final String TITLE = "Search Timeout";
+    private static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+
+    public SearchTimeoutException(String detail) {
+        super(TYPE, TITLE, detail, STATUS);
+    }
+}
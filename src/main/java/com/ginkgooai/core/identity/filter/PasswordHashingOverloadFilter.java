@@ -0,0 +1,60 @@
+package com.ginkgooai.core.identity.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import com.ginkgooai.core.identity.exception.PasswordHashingOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns a rejected password hash into a 503 with Retry-After for requests outside the MVC
+ * exception handlers, most notably form login, where the authentication filter lets the
+ * exception escape the security filter chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class PasswordHashingOverloadFilter extends OncePerRequestFilter {
+
+    private final PasswordHashingProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (RuntimeException | ServletException e) {
+            PasswordHashingOverloadedException overload = findOverload(e);
+            if (overload == null || response.isCommitted()) {
+                throw e;
+            }
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfter().toSeconds()));
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), overload.toProblemDetail());
+        }
+    }
+
+    private static PasswordHashingOverloadedException findOverload(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingOverloadedException overload) {
+                return overload;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ginkgooai.core.identity.filter;
+
+import com.ginkgooai.core.identity.config.jpa.SqlStatementRecorder;
+import com.ginkgooai.core.identity.config.properties.SqlInstrumentationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reports the SQL statements issued by each request: their count and total time as metrics
+ * tagged by endpoint, and a warning with the slowest statement when a request exceeds its
+ * statement or time budget.
+ * <p>
+ * Only statements run on the request thread are counted; the asynchronous part of a streamed
+ * response is not.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoints of the authorization server and Spring Security that no controller maps
+     */
+    private static final Set<String> FRAMEWORK_ENDPOINTS = Set.of(
+            "/oauth2/authorize", "/oauth2/token", "/oauth2/introspect", "/oauth2/revoke", "/oauth2/jwks",
+            "/oauth2/device_authorization", "/oauth2/device_verification", "/userinfo", "/connect/register",
+            "/connect/logout", "/.well-known/openid-configuration", "/.well-known/oauth-authorization-server",
+            "/login", "/logout");
+
+    /**
+     * Framework endpoints with a path variable, by prefix
+     */
+    private static final Map<String, String> FRAMEWORK_ENDPOINT_PREFIXES = Map.of(
+            "/oauth2/authorization/", "/oauth2/authorization/{registrationId}",
+            "/login/oauth2/code/", "/login/oauth2/code/{registrationId}");
+
+    private final SqlInstrumentationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementRecorder.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementRecorder.Stats stats = SqlStatementRecorder.stop();
+            if (stats != null) {
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementRecorder.Stats stats) {
+        String uri = endpoint(request);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Database time spent per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(stats.getTotalMillis()));
+
+        if (stats.getStatementCount() > properties.getStatementBudget()
+                || stats.getTotalMillis() > properties.getTimeBudget().toMillis()) {
+            log.warn("{} {} issued {} SQL statements in {} ms (budget {} statements, {} ms); slowest {} ms: {}",
+                    request.getMethod(), uri, stats.getStatementCount(), stats.getTotalMillis(),
+                    properties.getStatementBudget(), properties.getTimeBudget().toMillis(),
+                    stats.getSlowestMillis(), abbreviate(stats.getSlowestStatement()));
+        }
+    }
+
+    /**
+     * The MVC path pattern when a controller handled the request, or the path of a framework
+     * endpoint served by a filter. Any other request, typically one rejected or redirected by
+     * the security filters, is collapsed so that scanners cannot inflate the metric cardinality.
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (FRAMEWORK_ENDPOINTS.contains(path)) {
+            return path;
+        }
+        for (Map.Entry<String, String> prefix : FRAMEWORK_ENDPOINT_PREFIXES.entrySet()) {
+            if (path.startsWith(prefix.getKey())) {
+                return prefix.getValue();
+            }
+        }
+        return "UNKNOWN";
+    }
+
+    private String abbreviate(String sql) {
+        if (sql == null || sql.length() <= properties.getMaxLoggedStatementLength()) {
+            return sql;
+        }
+        return sql.substring(0, properties.getMaxLoggedStatementLength()) + "...";
+    }
+}
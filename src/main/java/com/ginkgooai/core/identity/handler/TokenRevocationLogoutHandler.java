@@ -1,11 +1,14 @@
 package com.ginkgooai.core.identity.handler;
 
 import com.ginkgooai.core.identity.service.CachedOAuth2AuthorizationService;
+import com.ginkgooai.core.identity.service.JwtRevocationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
@@ -16,6 +19,8 @@ import org.springframework.stereotype.Component;
 public class TokenRevocationLogoutHandler implements LogoutHandler {
 
     private final CachedOAuth2AuthorizationService authorizationService;
+    private final JwtRevocationService jwtRevocationService;
+    private final JwtDecoder jwtDecoder;
 
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response,
@@ -29,6 +34,13 @@ public class TokenRevocationLogoutHandler implements LogoutHandler {
             if (authorization != null) {
                 authorizationService.remove(authorization);
             }
+
+            // A JWT stays valid by signature until it expires, stored or not
+            try {
+                jwtRevocationService.revoke(jwtDecoder.decode(token));
+            } catch (JwtException e) {
+                // Not a JWT, or already expired or revoked
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,24 +1,76 @@
 package com.ginkgooai.core.identity.repository;
 
 import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.dto.UserClaims;
+import com.ginkgooai.core.identity.dto.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<UserInfo, String>, JpaSpecificationExecutor<UserInfo> {
+public interface UserRepository extends JpaRepository<UserInfo, String>, JpaSpecificationExecutor<UserInfo>,
+        UserRepositoryCustom {
     
     Optional<UserInfo> findByEmail(String email);
     
     boolean existsByEmail(String email);
 
+    @Query("SELECT new com.ginkgooai.core.identity.dto.UserClaims(" +
+            "u.id, u.email, u.firstName, u.lastName, u.roles, u.status, u.mfaEnabled) " +
+            "FROM UserInfo u WHERE u.email = :email")
+    Optional<UserClaims> findClaimsByEmail(@Param("email") String email);
+
+    @Query("SELECT new com.ginkgooai.core.identity.dto.UserClaims(" +
+            "u.id, u.email, u.firstName, u.lastName, u.roles, u.status, u.mfaEnabled) " +
+            "FROM UserInfo u WHERE u.id = :id")
+    Optional<UserClaims> findClaimsById(@Param("id") String id);
+
+    String PROFILE_SELECT = "SELECT new com.ginkgooai.core.identity.dto.UserProfile(" +
+            "u.id, " +
+            "(SELECT MIN(sc.providerUserId) FROM UserSocialConnection sc WHERE sc.user = u), " +
+            "u.email, u.firstName, u.lastName, u.picture, u.roles, u.loginMethods, u.status) " +
+            "FROM UserInfo u ";
+
+    @Query(PROFILE_SELECT + "WHERE u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") String id);
+
+    @Query(PROFILE_SELECT + "WHERE u.email = :email")
+    Optional<UserProfile> findProfileByEmail(@Param("email") String email);
+
+    @Query(PROFILE_SELECT + "WHERE u.id IN :ids")
+    List<UserProfile> findProfilesByIds(@Param("ids") Collection<String> ids);
+
+    @Query(PROFILE_SELECT + "WHERE u.email IN :emails")
+    List<UserProfile> findProfilesByEmails(@Param("emails") Collection<String> emails);
+
+    @Query(PROFILE_SELECT + "WHERE u.id IN :ids OR u.email IN :emails")
+    List<UserProfile> findProfilesByIdsOrEmails(@Param("ids") Collection<String> ids,
+                                                @Param("emails") Collection<String> emails);
+
     @Modifying
     @Query("UPDATE UserInfo u SET " +
             "u.picture = COALESCE(:#{#user.picture}, u.picture), " +
             "u.name = COALESCE(:#{#user.name}, u.name) " +
             "WHERE u.id = :#{#user.id}")
     void updateSelective(@Param("user") UserInfo user);
-}
\ No newline at end of file
+
+    /**
+     * Recompute the denormalized MFA flags of a user from its default MFA method; the only
+     * writer of these columns, which UserInfo maps read-only. Pending changes are flushed first
+     * so the subqueries see them, and the persistence context is cleared afterwards so loaded
+     * UserInfo instances do not keep reporting the old flags.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE identity.user_info SET " +
+            "default_mfa_type = (SELECT m.type FROM identity.mfa_info m " +
+            "WHERE m.user_id = :userId AND m.is_default AND m.status = 'ENABLED' LIMIT 1), " +
+            "mfa_enabled = EXISTS (SELECT 1 FROM identity.mfa_info m " +
+            "WHERE m.user_id = :userId AND m.is_default AND m.status = 'ENABLED') " +
+            "WHERE id = :userId", nativeQuery = true)
+    void refreshMfaFlags(@Param("userId") String userId);
+}
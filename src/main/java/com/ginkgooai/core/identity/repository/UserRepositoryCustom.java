@@ -0,0 +1,18 @@
+package com.ginkgooai.core.identity.repository;
+
+import com.ginkgooai.core.identity.domain.UserInfo;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Insert a user unless its email is already registered, in a single statement that is safe
+     * against concurrent registrations of the same email
+     *
+     * @param user New user; its id is assigned here
+     * @return The inserted row, or the row already holding the email
+     */
+    InsertResult insertIfAbsent(UserInfo user);
+
+    record InsertResult(UserInfo user, boolean created) {
+    }
+}
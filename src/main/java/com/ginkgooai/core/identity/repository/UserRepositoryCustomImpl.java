@@ -0,0 +1,138 @@
+package com.ginkgooai.core.identity.repository;
+
+import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.domain.UserStatus;
+import com.ginkgooai.core.identity.domain.enums.MfaType;
+import com.ginkgooai.core.identity.util.UuidV7;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registration as one {@code INSERT ... ON CONFLICT (email) DO NOTHING} statement, whose CTE
+ * returns the inserted row or, on conflict, the existing one.
+ * <p>
+ * The insert bypasses the persistence context: auditing and entity listeners do not run, so
+ * the audit columns are filled here, and the returned entity is not managed.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String COLUMNS = "id, email, password, first_name, last_name, name, picture, status, roles, " +
+            "login_methods, mfa_enabled, default_mfa_type, created_at, updated_at, created_by, updated_by";
+
+    private static final String INSERT_IF_ABSENT = """
+            WITH inserted AS (
+                INSERT INTO identity.user_info (id, email, password, first_name, last_name, name, picture, status,
+                                                roles, login_methods, mfa_enabled, created_at, updated_at,
+                                                created_by, updated_by)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, LOCALTIMESTAMP, LOCALTIMESTAMP, ?, ?)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING %1$s
+            )
+            SELECT %1$s FROM inserted
+            UNION ALL
+            SELECT %1$s FROM identity.user_info WHERE email = ? AND NOT EXISTS (SELECT 1 FROM inserted)
+            """.formatted(COLUMNS);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String FIND_BY_EMAIL = "SELECT " + COLUMNS + " FROM identity.user_info WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    public UserRepositoryCustomImpl(JdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public InsertResult insertIfAbsent(UserInfo user) {
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        UserStatus status = user.getStatus() == null ? UserStatus.INACTIVE : user.getStatus();
+
+        // The conflicting row may be deleted before it is read back; the next attempt inserts
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String id = UuidV7.generateString();
+            UserInfo row = insertOrFind(id, user, status, auditor);
+            if (row != null) {
+                return new InsertResult(row, id.equals(row.getId()));
+            }
+        }
+        throw new ConcurrencyFailureException(
+                "User " + user.getEmail() + " was deleted concurrently on each of " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * @return The inserted or the conflicting row, or null if the conflicting row no longer exists
+     */
+    private UserInfo insertOrFind(String id, UserInfo user, UserStatus status, String auditor) {
+        List<UserInfo> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_IF_ABSENT);
+            ps.setString(1, id);
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getFirstName());
+            ps.setString(5, user.getLastName());
+            ps.setString(6, user.getName());
+            ps.setString(7, user.getPicture());
+            ps.setString(8, status.name());
+            ps.setArray(9, connection.createArrayOf("varchar", toArray(user.getRoles())));
+            ps.setArray(10, connection.createArrayOf("varchar", toArray(user.getLoginMethods())));
+            ps.setString(11, auditor);
+            ps.setString(12, auditor);
+            ps.setString(13, user.getEmail());
+            return ps;
+        }, USER_MAPPER);
+
+        if (rows.isEmpty()) {
+            // The conflicting row was committed after this statement took its snapshot, so the
+            // insert saw it but the fallback select did not; a new statement does
+            rows = jdbcTemplate.query(FIND_BY_EMAIL, USER_MAPPER, user.getEmail());
+        }
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static final RowMapper<UserInfo> USER_MAPPER = (rs, rowNum) -> {
+        UserInfo user = new UserInfo();
+        user.setId(rs.getString("id"));
+        user.setEmail(rs.getString("email"));
+        user.setPassword(rs.getString("password"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setName(rs.getString("name"));
+        user.setPicture(rs.getString("picture"));
+        user.setStatus(UserStatus.valueOf(rs.getString("status")));
+        user.setRoles(toList(rs, "roles"));
+        user.setLoginMethods(toList(rs, "login_methods"));
+        user.setMfaEnabled(rs.getBoolean("mfa_enabled"));
+        String defaultMfaType = rs.getString("default_mfa_type");
+        user.setDefaultMfaType(defaultMfaType == null ? null : MfaType.valueOf(defaultMfaType));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        user.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        user.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        user.setCreatedBy(rs.getString("created_by"));
+        user.setUpdatedBy(rs.getString("updated_by"));
+        return user;
+    };
+
+    private static String[] toArray(List<String> values) {
+        return values == null ? new String[0] : values.toArray(new String[0]);
+    }
+
+    private static List<String> toList(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        return array == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+    }
+}
@@ -0,0 +1,143 @@
+package com.ginkgooai.core.identity.repository;
+
+import com.ginkgooai.core.identity.config.properties.UserSearchProperties;
+import com.ginkgooai.core.identity.domain.UserStatus;
+import com.ginkgooai.core.identity.dto.UserProfile;
+import com.ginkgooai.core.identity.exception.SearchTimeoutException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Substring search over user emails and names backed by the pg_trgm GIN indexes of V1.12.
+ * <p>
+ * Matches are ranked by trigram word similarity and paged by keyset on (score, id). The score
+ * is computed, so every page scores and sorts all LIKE matches before the limit applies: the
+ * cost of a page grows with the number of matches, not with its depth. Each query runs under a
+ * statement timeout; a query exceeding it is cancelled by the database and reported as
+ * {@link SearchTimeoutException}. Broad queries, such as a common three-letter fragment matching
+ * most users, are expected to hit that budget and have to be refined.
+ */
+@Repository
+public class UserSearchRepository {
+
+    /**
+     * Must stay identical to the expression of idx_user_info_name_trgm
+     */
+    private static final String NAME_EXPRESSION =
+            "lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '') || ' ' || coalesce(u.name, ''))";
+
+    private static final String SEARCH_SELECT = """
+            SELECT u.id,
+                   (SELECT MIN(sc.provider_user_id) FROM identity.user_social_connection sc WHERE sc.user_id = u.id) AS sub,
+                   u.email, u.first_name, u.last_name, u.picture, u.roles, u.login_methods, u.status, s.score
+            FROM identity.user_info u
+            CROSS JOIN LATERAL (
+                SELECT GREATEST(word_similarity(?, lower(u.email)), word_similarity(?, %1$s)) AS score
+            ) s
+            WHERE (lower(u.email) LIKE ? OR %1$s LIKE ?)
+            """.formatted(NAME_EXPRESSION);
+
+    private static final String FIRST_PAGE = SEARCH_SELECT + """
+            ORDER BY s.score DESC, u.id
+            LIMIT ?
+            """;
+
+    private static final String NEXT_PAGE = SEARCH_SELECT + """
+              AND (s.score < ? OR (s.score = ? AND u.id > ?))
+            ORDER BY s.score DESC, u.id
+            LIMIT ?
+            """;
+
+    private static final String QUERY_CANCELED = "57014";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchProperties properties;
+
+    public UserSearchRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                UserSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    public record Hit(UserProfile profile, float score) {
+    }
+
+    /**
+     * @param query      Search text, at least three characters for the trigram indexes to apply
+     * @param afterScore Score of the last hit of the previous page, or null for the first page
+     * @param afterId    Id of the last hit of the previous page
+     * @param limit      Maximum hits
+     * @return Hits by descending relevance, then id
+     */
+    public List<Hit> search(String query, Float afterScore, String afterId, int limit) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        String pattern = "%" + escapeLike(normalized) + "%";
+
+        List<Object> args = new ArrayList<>(Arrays.asList(normalized, normalized, pattern, pattern));
+        if (afterScore != null) {
+            args.addAll(Arrays.asList(afterScore, afterScore, afterId));
+        }
+        args.add(limit);
+        String sql = afterScore == null ? FIRST_PAGE : NEXT_PAGE;
+
+        try {
+            return transactionTemplate.execute(tx -> {
+                // SET LOCAL cannot take bind parameters; set_config(..., true) is its equivalent
+                jdbcTemplate.queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class,
+                        String.valueOf(properties.getStatementTimeout().toMillis()));
+                return jdbcTemplate.query(sql, HIT_MAPPER, args.toArray());
+            });
+        } catch (DataAccessException e) {
+            if (isQueryCanceled(e)) {
+                throw new SearchTimeoutException("Search exceeded its time budget, please refine the query");
+            }
+            throw e;
+        }
+    }
+
+    private static final RowMapper<Hit> HIT_MAPPER = (rs, rowNum) -> new Hit(
+            new UserProfile(
+                    rs.getString("id"),
+                    rs.getString("sub"),
+                    rs.getString("email"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("picture"),
+                    toList(rs, "roles"),
+                    toList(rs, "login_methods"),
+                    UserStatus.valueOf(rs.getString("status"))),
+            rs.getFloat("score"));
+
+    private static List<String> toList(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        return array == null ? null : Arrays.asList((String[]) array.getArray());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean isQueryCanceled(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && QUERY_CANCELED.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,6 @@
 package com.ginkgooai.core.identity.security;
 
-import com.ginkgooai.core.identity.dto.response.UserResponse;
+import com.ginkgooai.core.identity.dto.UserClaims;
 import com.ginkgooai.core.identity.service.UserService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -45,10 +45,7 @@ public final class FederatedIdentityIdTokenCustomizer implements OAuth2TokenCust
 				return;
 			}
 
-			UserResponse localUser = userService.loadUser(email);
-			if (localUser == null) {
-				return; // Skip if user not found
-			}
+			UserClaims localUser = userService.loadUserClaims(email);
 			
 			context.getClaims().claims(existingClaims -> {
 				existingClaims.put("sub", localUser.getId()); //replace social login sub(Google) with local user ID
@@ -0,0 +1,62 @@
+package com.ginkgooai.core.identity.security;
+
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the password encoders supported for stored hashes, shared by the encoder bean and
+ * the cost calibration so both measure and use identical parameters
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static PasswordEncoder argon2(int memoryKib, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memoryKib, iterations);
+    }
+
+    public static PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", SALT_LENGTH, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    /**
+     * Encoder writing {@code {id}}-prefixed hashes with the configured algorithm. Hashes
+     * stored before prefixes were introduced are plain BCrypt and still match; their
+     * {@code upgradeEncoding} is always true so they are rewritten on the next login.
+     */
+    public static PasswordEncoder delegating(PasswordHashingProperties properties) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt(properties.getBcryptStrength()));
+        encoders.put(ARGON2, argon2(properties.getArgon2MemoryKib(), properties.getArgon2Iterations(),
+                properties.getArgon2Parallelism()));
+        encoders.put(PBKDF2, pbkdf2(properties.getPbkdf2Iterations()));
+
+        if (!encoders.containsKey(properties.getAlgorithm())) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + properties.getAlgorithm());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getAlgorithm(), encoders);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return delegating;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ginkgooai.core.identity.security;
+
+import com.ginkgooai.core.identity.service.JwtRevocationService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects JWTs found in the revocation denylist
+ */
+public class RevokedJwtValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(
+            OAuth2ErrorCodes.INVALID_TOKEN, "The token has been revoked", null);
+
+    private final JwtRevocationService jwtRevocationService;
+
+    public RevokedJwtValidator(JwtRevocationService jwtRevocationService) {
+        this.jwtRevocationService = jwtRevocationService;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt token) {
+        return jwtRevocationService.isRevoked(token)
+                ? OAuth2TokenValidatorResult.failure(REVOKED)
+                : OAuth2TokenValidatorResult.success();
+    }
+}
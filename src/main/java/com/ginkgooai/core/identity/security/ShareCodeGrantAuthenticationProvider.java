@@ -1,7 +1,7 @@
 package com.ginkgooai.core.identity.security;
 
 import com.ginkgooai.core.common.security.CustomGrantTypes;
-import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.dto.UserClaims;
 import com.ginkgooai.core.identity.service.ShareCodeService;
 import com.ginkgooai.core.identity.service.UserService;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -68,7 +68,7 @@ public class ShareCodeGrantAuthenticationProvider implements AuthenticationProvi
             scopes.add(String.join(":", codeInfo.resource(), codeInfo.resourceId(), "write"));
         }
 
-        UserInfo user = userService.getUserById(codeInfo.userId());
+        UserClaims user = userService.getUserClaimsById(codeInfo.userId());
 
         ShareCodeGrantAuthenticationToken grantAuthenticationToken = ShareCodeGrantAuthenticationToken
             .withAuthorities(shareCodeAuthentication, user.getAuthorities());
@@ -0,0 +1,248 @@
+package com.ginkgooai.core.identity.security;
+
+import com.ginkgooai.core.identity.config.properties.TotpProperties;
+import com.ginkgooai.core.identity.util.CryptoUtils;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Base32;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Time-based one-time passwords (RFC 6238) with replay protection.
+ * <p>
+ * Decoded keys are cached per secret, and each thread keeps a Mac with counter and output
+ * buffers; the Mac is only re-keyed when the thread checks a different secret than last time,
+ * so repeated checks of a cached key allocate nothing. A code is accepted at most once: the
+ * last accepted time step of each MFA method is kept in Redis and only a later step may
+ * replace it, in one atomic script.
+ */
+@Slf4j
+@Component
+public class TotpEngine {
+
+    private static final Base32 BASE_32 = new Base32();
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+
+    /**
+     * Record an accepted time step unless the same or a later step was already accepted.
+     * KEYS: last step; ARGV: time step, TTL in milliseconds. Returns 1 if recorded, 0 on replay.
+     */
+    private static final RedisScript<Long> ACCEPT_STEP_SCRIPT = new DefaultRedisScript<>("""
+            local last = redis.call('get', KEYS[1])
+            if last and tonumber(last) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final TotpProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final LoadingCache<String, SecretKeySpec> keys;
+    private final ThreadLocal<MacState> macState;
+    private final Clock clock;
+    private final long periodSeconds;
+    private final int modulus;
+
+    @Autowired
+    public TotpEngine(TotpProperties properties, StringRedisTemplate redisTemplate) {
+        this(properties, redisTemplate, Clock.systemUTC());
+    }
+
+    TotpEngine(TotpProperties properties, StringRedisTemplate redisTemplate, Clock clock) {
+        if (properties.getDigits() < 6 || properties.getDigits() > 9) {
+            throw new IllegalArgumentException("TOTP digits must be between 6 and 9");
+        }
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.periodSeconds = properties.getPeriod().toSeconds();
+        this.modulus = POWERS_OF_TEN[properties.getDigits()];
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(properties.getKeyCacheSize())
+                .expireAfterAccess(Duration.ofHours(1))
+                .build(secret -> new SecretKeySpec(BASE_32.decode(secret), properties.getAlgorithm().getMacAlgorithm()));
+        this.macState = ThreadLocal.withInitial(() -> new MacState(properties.getAlgorithm().getMacAlgorithm()));
+    }
+
+    /**
+     * Verify a code and consume it, so it cannot be used again for the same MFA method
+     *
+     * @param mfaId  MFA method the secret belongs to
+     * @param secret Base32 encoded secret key
+     * @param code   Code to verify
+     * @return true if the code is valid and was not used before
+     */
+    public boolean verify(String mfaId, String secret, String code) {
+        long step = matchingStep(secret, code);
+        if (step < 0) {
+            return false;
+        }
+
+        // The step stays replayable while it is inside the window of a later check
+        long ttlMillis = properties.getPeriod().toMillis() * (2L * properties.getWindow() + 2);
+        Long accepted = redisTemplate.execute(ACCEPT_STEP_SCRIPT, List.of(properties.getReplayKeyPrefix() + mfaId),
+                String.valueOf(step), String.valueOf(ttlMillis));
+        if (!Long.valueOf(1).equals(accepted)) {
+            log.warn("Rejected replayed TOTP code for MFA method: {}", mfaId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Time step within the window whose code matches, or -1 if none does
+     */
+    private long matchingStep(String secret, String code) {
+        int expected = parseCode(code);
+        if (expected < 0 || secret == null) {
+            return -1;
+        }
+
+        MacState state = macState.get();
+        try {
+            state.key(keys.get(secret));
+        } catch (InvalidKeyException e) {
+            log.error("Invalid TOTP secret key", e);
+            return -1;
+        }
+
+        long currentStep = clock.millis() / 1000 / periodSeconds;
+        // Check the current step first, then alternate outwards
+        for (int i = 0; i <= properties.getWindow(); i++) {
+            if (generateCode(state, currentStep + i) == expected) {
+                return currentStep + i;
+            }
+            if (i > 0 && generateCode(state, currentStep - i) == expected) {
+                return currentStep - i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Code as a number, or -1 if it is not exactly the configured number of digits
+     */
+    private int parseCode(String code) {
+        if (code == null || code.length() != properties.getDigits()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * HOTP value (RFC 4226) of one time step, computed into the thread's buffers
+     */
+    private int generateCode(MacState state, long timeStep) {
+        byte[] counter = state.counter;
+        for (int i = counter.length - 1; i >= 0; i--) {
+            counter[i] = (byte) timeStep;
+            timeStep >>>= 8;
+        }
+
+        byte[] hash = state.hash;
+        int length = state.mac.getMacLength();
+        state.mac.update(counter);
+        try {
+            state.mac.doFinal(hash, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException("TOTP hash buffer too small", e);
+        }
+
+        // Dynamic truncation, clearing the most significant bit
+        int offset = hash[length - 1] & 0xf;
+        int truncated = (hash[offset] & 0x7f) << 24
+                | (hash[offset + 1] & 0xff) << 16
+                | (hash[offset + 2] & 0xff) << 8
+                | (hash[offset + 3] & 0xff);
+        return truncated % modulus;
+    }
+
+    /**
+     * @return New random Base32 encoded secret sized for the configured algorithm
+     */
+    public String generateSecret() {
+        return BASE_32.encodeToString(CryptoUtils.randomBytes(properties.getAlgorithm().getSecretLength()));
+    }
+
+    /**
+     * Generate URI for QR code
+     *
+     * @param accountName User identifier (usually email)
+     * @param secret      Secret key
+     * @return otpauth URI announcing the configured algorithm, digits and period
+     */
+    public String generateQrCodeUri(String accountName, String secret) {
+        String issuer = encode(properties.getIssuer().replace(':', ' '));
+        String account = encode(accountName.replace(':', ' '));
+
+        return String.format("otpauth://totp/%s:%s?secret=%s&issuer=%s&algorithm=%s&digits=%d&period=%d",
+                issuer,
+                account,
+                secret,
+                issuer,
+                properties.getAlgorithm().name(),
+                properties.getDigits(),
+                periodSeconds);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Mac of one thread with the key it was last initialized with and its scratch buffers
+     */
+    private static final class MacState {
+
+        private final Mac mac;
+        private final byte[] counter = new byte[8];
+        private final byte[] hash;
+        private SecretKeySpec key;
+
+        private MacState(String algorithm) {
+            try {
+                this.mac = Mac.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Unsupported TOTP algorithm: " + algorithm, e);
+            }
+            this.hash = new byte[mac.getMacLength()];
+        }
+
+        /**
+         * Initialize the Mac with the key unless it already holds it; doFinal keeps the key
+         */
+        private void key(SecretKeySpec key) throws InvalidKeyException {
+            if (this.key != key) {
+                mac.init(key);
+                this.key = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ginkgooai.core.identity.service;
+
+import com.ginkgooai.core.identity.config.properties.AuthorizationPurgeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Housekeeping job removing authorizations whose every token has expired.
+ * <p>
+ * Runs on every node but only the node holding the Redis lock does any work. Each batch is
+ * its own statement outside any surrounding transaction, so row locks are held only briefly
+ * and concurrent token writes are not blocked for the length of a run.
+ */
+@Service
+@Slf4j
+public class AuthorizationPurgeService {
+
+    /**
+     * Delete the lock only while it still holds this run's token, so a run that outlived its
+     * lock never releases the lock of the next holder
+     */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final CachedOAuth2AuthorizationService authorizationService;
+    private final RedisOAuth2AuthorizationService redisAuthorizationService;
+    private final StringRedisTemplate redisTemplate;
+    private final AuthorizationPurgeProperties properties;
+
+    public AuthorizationPurgeService(
+            CachedOAuth2AuthorizationService authorizationService,
+            RedisOAuth2AuthorizationService redisAuthorizationService,
+            StringRedisTemplate redisTemplate,
+            AuthorizationPurgeProperties properties) {
+        this.authorizationService = authorizationService;
+        this.redisAuthorizationService = redisAuthorizationService;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.housekeeping.authorization-purge.cron:0 */15 * * * *}")
+    public void purgeExpiredAuthorizations() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        String lockToken = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(properties.getLockKey(), lockToken, properties.getLockTimeToLive());
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Authorization purge already running on another node");
+            return;
+        }
+
+        try {
+            int purged = purge();
+            if (purged > 0) {
+                log.info("Purged {} expired authorizations", purged);
+            }
+            int pruned = redisAuthorizationService.pruneIndexes();
+            if (pruned > 0) {
+                log.debug("Pruned {} expired Redis authorization index entries", pruned);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge expired authorizations", e);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(properties.getLockKey()), lockToken);
+        }
+    }
+
+    private int purge() {
+        Instant cutoff = Instant.now().minus(properties.getGracePeriod());
+        int batchSize = properties.getBatchSize();
+
+        int purged = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int deleted = authorizationService.purgeExpired(cutoff, batchSize);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return purged;
+    }
+}
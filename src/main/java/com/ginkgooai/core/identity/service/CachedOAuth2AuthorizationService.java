@@ -3,115 +3,383 @@ package com.ginkgooai.core.identity.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ginkgooai.core.identity.config.jpa.TokenDataSourceConfig;
+import com.ginkgooai.core.identity.config.properties.AuthorizationStoreProperties;
+import com.ginkgooai.core.identity.config.properties.JwtRevocationProperties;
+import com.ginkgooai.core.identity.enums.AuthorizationStore;
+import com.ginkgooai.core.identity.service.cache.AuthorizationCache;
+import com.ginkgooai.core.identity.util.OAuth2AuthorizationUtils;
+import com.ginkgooai.core.identity.util.TokenDigestUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
 import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2DeviceCode;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.OAuth2UserCode;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.settings.OAuth2TokenFormat;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
+@Primary
 @Slf4j
-//@CacheConfig(cacheNames = "oauth2_authorization")
 public class CachedOAuth2AuthorizationService extends JdbcOAuth2AuthorizationService {
 
+    /**
+     * Set while {@link #save} runs, so the existence check the parent performs inside save
+     * reads the table instead of a possibly stale cache entry
+     */
+    private static final ThreadLocal<Boolean> SAVE_IN_PROGRESS = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static final int REVOKE_BATCH_SIZE = 1000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Readers are immutable and thread-safe, so one instance serves every row
+     */
+    private static final ObjectReader TOKEN_METADATA_READER =
+            OBJECT_MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+
+    /**
+     * Newest access token first, ties broken by id, matching the ORDER BY of the listing queries
+     */
+    private static final Comparator<OAuth2Authorization> NEWEST_FIRST = Comparator
+            .comparing((OAuth2Authorization authorization) -> authorization.getAccessToken().getToken().getIssuedAt())
+            .thenComparing(OAuth2Authorization::getId)
+            .reversed();
+
+    /**
+     * Every column read by the framework's authorization row mapper
+     */
+    private static final String SELECT_AUTHORIZATION_SQL = """
+            SELECT id, registered_client_id, principal_name, authorization_grant_type,
+                   authorized_scopes, attributes, state, authorization_code_value,
+                   authorization_code_issued_at, authorization_code_expires_at,
+                   authorization_code_metadata, access_token_value,
+                   access_token_issued_at, access_token_expires_at,
+                   access_token_metadata, access_token_type,
+                   access_token_scopes, oidc_id_token_value,
+                   oidc_id_token_issued_at, oidc_id_token_expires_at,
+                   oidc_id_token_metadata, refresh_token_value,
+                   refresh_token_issued_at, refresh_token_expires_at,
+                   refresh_token_metadata, user_code_value,
+                   user_code_issued_at, user_code_expires_at,
+                   user_code_metadata, device_code_value,
+                   device_code_issued_at, device_code_expires_at,
+                   device_code_metadata
+            FROM oauth2_authorization
+            """;
+
+    private static final String VALID_AUTHORIZATION_SQL = """
+            SELECT id, registered_client_id, principal_name, authorization_grant_type,
+                   authorized_scopes, attributes, state, authorization_code_value,
+                   authorization_code_issued_at, authorization_code_expires_at,
+                   authorization_code_metadata, access_token_value,
+                   access_token_issued_at, access_token_expires_at,
+                   access_token_metadata, access_token_type,
+                   access_token_scopes, refresh_token_value,
+                   refresh_token_issued_at, refresh_token_expires_at,
+                   refresh_token_metadata
+            FROM oauth2_authorization
+            WHERE access_token_expires_at > ?
+            """;
+
+    /**
+     * Pool of the token endpoint, for single token lookups and writes
+     */
+    private final JdbcTemplate tokenJdbcTemplate;
+
+    /**
+     * Default pool, for listings, estimates and bulk deletes, so they cannot starve token requests
+     */
     private final JdbcTemplate jdbcTemplate;
     private final RegisteredClientRepository registeredClientRepository;
+    private final AuthorizationCache authorizationCache;
+    private final RedisOAuth2AuthorizationService redisAuthorizationService;
+    private final AuthorizationStoreProperties storeProperties;
+    private final JwtRevocationProperties revocationProperties;
+
+    /**
+     * Clients consulted on every save to route the authorization; unknown ids are not cached
+     */
+    private final Cache<String, RegisteredClient> registeredClients;
 
     public CachedOAuth2AuthorizationService(
+            @Qualifier(TokenDataSourceConfig.TOKEN) JdbcTemplate tokenJdbcTemplate,
             JdbcTemplate jdbcTemplate,
-            RegisteredClientRepository registeredClientRepository) {
-        super(jdbcTemplate, registeredClientRepository);
+            RegisteredClientRepository registeredClientRepository,
+            AuthorizationCache authorizationCache,
+            RedisOAuth2AuthorizationService redisAuthorizationService,
+            AuthorizationStoreProperties storeProperties,
+            JwtRevocationProperties revocationProperties) {
+        super(tokenJdbcTemplate, registeredClientRepository);
+        this.tokenJdbcTemplate = tokenJdbcTemplate;
         this.jdbcTemplate = jdbcTemplate;
         this.registeredClientRepository = registeredClientRepository;
+        this.authorizationCache = authorizationCache;
+        this.redisAuthorizationService = redisAuthorizationService;
+        this.storeProperties = storeProperties;
+        this.revocationProperties = revocationProperties;
+        this.registeredClients = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(storeProperties.getClientTimeToLive())
+                .build();
     }
 
     @Override
-//    @Cacheable(key = "#id", unless = "#result == null")
     public OAuth2Authorization findById(String id) {
-        return super.findById(id);
+        if (SAVE_IN_PROGRESS.get()) {
+            return super.findById(id);
+        }
+        // The in-process tier only ever holds Postgres authorizations and costs no round trip
+        OAuth2Authorization authorization = authorizationCache.findLocal(id);
+        if (authorization != null) {
+            return authorization;
+        }
+        if (storeProperties.isEnabled()) {
+            authorization = redisAuthorizationService.findById(id);
+            if (authorization != null) {
+                return authorization;
+            }
+        }
+        return authorizationCache.findById(id, super::findById);
     }
 
     @Override
-//    @Cacheable(key = "'token:' + #token + ':' + #tokenType", unless = "#result == null")
     public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
-        return super.findByToken(token, tokenType);
+        OAuth2Authorization authorization = authorizationCache.findLocalByToken(token, tokenType);
+        if (authorization != null) {
+            return authorization;
+        }
+        if (storeProperties.isEnabled()) {
+            authorization = redisAuthorizationService.findByToken(token, tokenType);
+            if (authorization != null) {
+                return authorization;
+            }
+        }
+        return authorizationCache.findByToken(token, tokenType, super::findById, this::findByTokenDigest);
+    }
+
+    /**
+     * Look a token up through the indexed digest columns maintained by V1.5. Token types
+     * without a digest column (state, OIDC id token, device flow codes) keep the inherited
+     * lookup; an untyped lookup covers the values the revocation and introspection endpoints
+     * can be presented with.
+     */
+    private OAuth2Authorization findByTokenDigest(String token, OAuth2TokenType tokenType) {
+        String tokenHash = TokenDigestUtils.sha256Hex(token);
+
+        List<OAuth2Authorization> authorizations;
+        if (tokenType == null) {
+            authorizations = tokenJdbcTemplate.query(
+                    SELECT_AUTHORIZATION_SQL + """
+                            WHERE state = ? OR authorization_code_hash = ?
+                               OR access_token_hash = ? OR refresh_token_hash = ?
+                            """,
+                    getAuthorizationRowMapper(),
+                    token, tokenHash, tokenHash, tokenHash);
+        } else if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            authorizations = tokenJdbcTemplate.query(
+                    SELECT_AUTHORIZATION_SQL + "WHERE access_token_hash = ?",
+                    getAuthorizationRowMapper(), tokenHash);
+        } else if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            authorizations = tokenJdbcTemplate.query(
+                    SELECT_AUTHORIZATION_SQL + "WHERE refresh_token_hash = ?",
+                    getAuthorizationRowMapper(), tokenHash);
+        } else if (OAuth2AuthorizationUtils.AUTHORIZATION_CODE_TOKEN_TYPE.equals(tokenType)) {
+            authorizations = tokenJdbcTemplate.query(
+                    SELECT_AUTHORIZATION_SQL + "WHERE authorization_code_hash = ?",
+                    getAuthorizationRowMapper(), tokenHash);
+        } else {
+            return super.findByToken(token, tokenType);
+        }
+
+        return authorizations.isEmpty() ? null : authorizations.get(0);
     }
 
     /**
      * Find all valid (non-expired) authorizations with pagination
+     * <p>
+     * Deep pages still pay for the OFFSET; prefer {@link #findValidBefore} for walking the set.
      *
      * @param pageable pagination information
-     * @return Page of OAuth2Authorization
+     * @return Page of OAuth2Authorization, with an estimated total
      */
+    @Transactional(readOnly = true)
     public Page<OAuth2Authorization> findAllValid(Pageable pageable) {
-        // Get total count of valid authorizations
-        String countSql = """
-            SELECT COUNT(*)
-            FROM oauth2_authorization
-            WHERE access_token_expires_at > ?
-            """;
-
-        int total = jdbcTemplate.queryForObject(
-                countSql,
-                Integer.class,
-                Instant.now()
-        );
+        Instant now = Instant.now();
 
         // Query valid authorizations with pagination
-        String sql = """
-            SELECT id, registered_client_id, principal_name, authorization_grant_type,
-                   authorized_scopes, attributes, state, authorization_code_value,
-                   authorization_code_issued_at, authorization_code_expires_at,
-                   authorization_code_metadata, access_token_value,
-                   access_token_issued_at, access_token_expires_at,
-                   access_token_metadata, access_token_type,
-                   access_token_scopes, refresh_token_value,
-                   refresh_token_issued_at, refresh_token_expires_at,
-                   refresh_token_metadata
-            FROM oauth2_authorization
-            WHERE access_token_expires_at > ?
-            ORDER BY access_token_issued_at DESC
+        String sql = VALID_AUTHORIZATION_SQL + """
+            ORDER BY access_token_issued_at DESC, id DESC
             LIMIT ? OFFSET ?
             """;
 
-        List<OAuth2Authorization> authorizations = jdbcTemplate.query(
-                sql,
-                this::extractAuthorization,
-                Instant.now(),
-                pageable.getPageSize(),
-                pageable.getOffset()
-        );
+        List<OAuth2Authorization> authorizations;
+        if (hasRedisAuthorizations()) {
+            // An offset over two stores needs the leading rows of both
+            int leading = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+            List<OAuth2Authorization> merged = merge(
+                    jdbcTemplate.query(sql, authorizationRowMapper(), Timestamp.from(now), leading, 0),
+                    redisAuthorizationService.findValidBefore(null, null, leading),
+                    leading);
+            authorizations = merged.subList(Math.min(merged.size(), Math.toIntExact(pageable.getOffset())), merged.size());
+        } else {
+            authorizations = jdbcTemplate.query(
+                    sql,
+                    authorizationRowMapper(),
+                    Timestamp.from(now),
+                    pageable.getPageSize(),
+                    pageable.getOffset()
+            );
+        }
 
         return new PageImpl<>(
                 authorizations,
                 pageable,
-                total
+                estimateValidCount(now)
         );
     }
 
+    /**
+     * Keyset page of valid authorizations, newest first
+     *
+     * @param issuedAt Access token issue time of the last row of the previous page, or null for the first page
+     * @param id       Id of the last row of the previous page, or null for the first page
+     * @param limit    Maximum number of rows
+     * @return Authorizations strictly after the given position in (access_token_issued_at, id) descending order
+     */
+    @Transactional(readOnly = true)
+    public List<OAuth2Authorization> findValidBefore(Instant issuedAt, String id, int limit) {
+        List<OAuth2Authorization> authorizations = findValidBeforeInDatabase(issuedAt, id, limit);
+        if (!hasRedisAuthorizations()) {
+            return authorizations;
+        }
+        return merge(authorizations, redisAuthorizationService.findValidBefore(issuedAt, id, limit), limit);
+    }
+
+    private List<OAuth2Authorization> findValidBeforeInDatabase(Instant issuedAt, String id, int limit) {
+        Instant now = Instant.now();
+
+        if (issuedAt == null) {
+            return jdbcTemplate.query(
+                    VALID_AUTHORIZATION_SQL + """
+                        ORDER BY access_token_issued_at DESC, id DESC
+                        LIMIT ?
+                        """,
+                    authorizationRowMapper(),
+                    Timestamp.from(now),
+                    limit
+            );
+        }
+
+        return jdbcTemplate.query(
+                VALID_AUTHORIZATION_SQL + """
+                    AND (access_token_issued_at, id) < (?, ?)
+                    ORDER BY access_token_issued_at DESC, id DESC
+                    LIMIT ?
+                    """,
+                authorizationRowMapper(),
+                Timestamp.from(now),
+                Timestamp.from(issuedAt),
+                id,
+                limit
+        );
+    }
+
+    /**
+     * Planner row estimate for the valid authorization range, read from EXPLAIN instead of
+     * counting the rows. Accuracy follows the table statistics kept by autovacuum.
+     */
+    public long estimateValidCount() {
+        return estimateValidCount(Instant.now());
+    }
+
+    private long estimateValidCount(Instant now) {
+        long redisCount = storeProperties.isEnabled() ? redisAuthorizationService.countIndexed() : 0;
+        return redisCount + estimateValidCountInDatabase(now);
+    }
+
+    private long estimateValidCountInDatabase(Instant now) {
+        // EXPLAIN takes no bind parameters; the literal is generated from an Instant, never from input.
+        // Rendered in the JVM zone like the Timestamp parameters the columns are written and listed with
+        String literal = Timestamp.from(now).toString();
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM oauth2_authorization WHERE access_token_expires_at > '" + literal + "'",
+                String.class
+        );
+
+        try {
+            return OBJECT_MAPPER.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing query plan", e);
+            return 0;
+        }
+    }
+
+    private boolean hasRedisAuthorizations() {
+        return storeProperties.isEnabled() && redisAuthorizationService.countIndexed() > 0;
+    }
+
+    private static List<OAuth2Authorization> merge(List<OAuth2Authorization> first,
+                                                   List<OAuth2Authorization> second, int limit) {
+        return Stream.concat(first.stream(), second.stream())
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Row mapper for a single query. Each distinct registered client is resolved once and
+     * reused for every row that references it, so a page costs one client lookup per client
+     * rather than one per row.
+     */
+    private RowMapper<OAuth2Authorization> authorizationRowMapper() {
+        Map<String, RegisteredClient> registeredClients = new HashMap<>();
+        return (rs, rowNum) -> extractAuthorization(rs, registeredClients);
+    }
+
     /**
      * Extract OAuth2Authorization from ResultSet
      */
-    private OAuth2Authorization extractAuthorization(ResultSet rs, int rowNum)
+    private OAuth2Authorization extractAuthorization(ResultSet rs, Map<String, RegisteredClient> registeredClients)
             throws SQLException {
-        RegisteredClient registeredClient = registeredClientRepository.findById(
-                rs.getString("registered_client_id")
+        RegisteredClient registeredClient = registeredClients.computeIfAbsent(
+                rs.getString("registered_client_id"),
+                registeredClientRepository::findById
         );
 
         OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
@@ -130,16 +398,8 @@ public class CachedOAuth2AuthorizationService extends JdbcOAuth2AuthorizationSer
                     rs.getTimestamp("access_token_expires_at").toInstant(),
                     StringUtils.commaDelimitedListToSet(rs.getString("access_token_scopes"))
             );
-            builder.token(accessToken, metadata -> {
-                try {
-                    parseTokenMetadata(
-                            rs.getString("access_token_metadata"),
-                            metadata
-                    );
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            String accessTokenMetadata = rs.getString("access_token_metadata");
+            builder.token(accessToken, metadata -> parseTokenMetadata(accessTokenMetadata, metadata));
         }
 
         // Handle refresh token if exists
@@ -150,16 +410,8 @@ public class CachedOAuth2AuthorizationService extends JdbcOAuth2AuthorizationSer
                     rs.getTimestamp("refresh_token_issued_at").toInstant(),
                     rs.getTimestamp("refresh_token_expires_at").toInstant()
             );
-            builder.token(refreshToken, metadata -> {
-                try {
-                    parseTokenMetadata(
-                            rs.getString("refresh_token_metadata"),
-                            metadata
-                    );
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            String refreshTokenMetadata = rs.getString("refresh_token_metadata");
+            builder.token(refreshToken, metadata -> parseTokenMetadata(refreshTokenMetadata, metadata));
         }
 
         return builder.build();
@@ -171,8 +423,7 @@ public class CachedOAuth2AuthorizationService extends JdbcOAuth2AuthorizationSer
     private void parseTokenMetadata(String metadataStr, Map<String, Object> metadata) {
         if (StringUtils.hasText(metadataStr)) {
             try {
-                Map<String, Object> jsonMap = new ObjectMapper()
-                        .readValue(metadataStr, new TypeReference<Map<String, Object>>() {});
+                Map<String, Object> jsonMap = TOKEN_METADATA_READER.readValue(metadataStr);
                 metadata.putAll(jsonMap);
             } catch (JsonProcessingException e) {
                 log.error("Error parsing token metadata", e);
@@ -211,45 +462,203 @@ public class CachedOAuth2AuthorizationService extends JdbcOAuth2AuthorizationSer
             WHERE principal_name = ?
             """;
 
-        return jdbcTemplate.query(sql, 
-            this::extractAuthorization, 
+        List<OAuth2Authorization> authorizations = jdbcTemplate.query(sql, 
+            authorizationRowMapper(), 
             principalName
         );
+        if (!storeProperties.isEnabled()) {
+            return authorizations;
+        }
+        return Stream.concat(authorizations.stream(), redisAuthorizationService.findByPrincipalName(principalName).stream())
+                .toList();
     }
 
+    @Override
     public void save(OAuth2Authorization authorization) {
-        super.save(authorization);
+        RegisteredClient registeredClient = storeProperties.isEnabled() || revocationProperties.isStatelessAccessTokens()
+                ? registeredClients.get(authorization.getRegisteredClientId(), registeredClientRepository::findById)
+                : null;
+
+        if (isStatelessAccessToken(authorization, registeredClient)) {
+            OAuth2Authorization retained = withoutAccessToken(authorization, registeredClient);
+            if (retained == null) {
+                // Nothing but the JWT is left; drop the stored authorization code phase, if any,
+                // so the spent code cannot be replayed
+                if (authorization.getToken(OAuth2AuthorizationCode.class) != null) {
+                    remove(authorization);
+                }
+                return;
+            }
+            authorization = retained;
+        }
+
+        if (routesToRedis(authorization, registeredClient)) {
+            redisAuthorizationService.save(authorization);
+            return;
+        }
+
+        SAVE_IN_PROGRESS.set(Boolean.TRUE);
+        try {
+            super.save(authorization);
+        } finally {
+            SAVE_IN_PROGRESS.remove();
+        }
+        authorizationCache.evict(authorization.getId());
+
+        // An authorization leaves Redis once it is issued a refresh token
+        if (storeProperties.isEnabled()) {
+            redisAuthorizationService.remove(authorization);
+        }
     }
 
     @Override
-//    @Caching(evict = {@CacheEvict(key = "#authorization.id"), @CacheEvict(key = "'principal:' + #authorization.principalName")})
     public void remove(OAuth2Authorization authorization) {
+        if (storeProperties.isEnabled() && redisAuthorizationService.removeIfPresent(authorization)) {
+            return;
+        }
         super.remove(authorization);
+        authorizationCache.evict(authorization.getId());
     }
 
-    // Token管理相关方法
-    public void revokeTokensByPrincipalName(String principalName) {
-        List<OAuth2Authorization> authorizations = findByPrincipalName(principalName);
-        for (OAuth2Authorization authorization : authorizations) {
-            remove(authorization);
+    /**
+     * Authorizations of clients using the Redis store stay there until they hold a refresh
+     * token or a token outliving the configured maximum
+     */
+    private boolean routesToRedis(OAuth2Authorization authorization, RegisteredClient registeredClient) {
+        if (!storeProperties.isEnabled() || authorization.getRefreshToken() != null) {
+            return false;
         }
+
+        Instant longestAllowed = Instant.now().plus(storeProperties.getMaxTimeToLive());
+        boolean longLived = OAuth2AuthorizationUtils.latestExpiry(authorization)
+                .map(expiry -> expiry.isAfter(longestAllowed))
+                .orElse(false);
+        if (longLived) {
+            return false;
+        }
+
+        return registeredClient != null
+                && AuthorizationStore.of(registeredClient.getClientSettings()) == AuthorizationStore.REDIS;
     }
 
-    public void revokeTokensByClientAndPrincipal(String clientId, String principalName) {
-        String sql = """
-            SELECT * FROM oauth2_authorization 
-            WHERE registered_client_id = ? AND principal_name = ?
-            """;
-            
-        List<OAuth2Authorization> authorizations = jdbcTemplate.query(
-            sql,
-            this::extractAuthorization,
-            clientId,
-            principalName
-        );
-        
-        for (OAuth2Authorization authorization : authorizations) {
-            remove(authorization);
+    /**
+     * In stateless mode self-contained access tokens are validated by signature and the
+     * revocation denylist, so they are never written to either store. OpenID Connect
+     * authorizations keep theirs: the UserInfo endpoint looks the authorization up by the
+     * access token it is called with.
+     */
+    private boolean isStatelessAccessToken(OAuth2Authorization authorization, RegisteredClient registeredClient) {
+        return revocationProperties.isStatelessAccessTokens()
+                && authorization.getAccessToken() != null
+                && !authorization.getAuthorizedScopes().contains(OidcScopes.OPENID)
+                && registeredClient != null
+                && OAuth2TokenFormat.SELF_CONTAINED.equals(registeredClient.getTokenSettings().getAccessTokenFormat());
+    }
+
+    /**
+     * Copy of the authorization without its access token
+     *
+     * @return The copy, or null if the authorization holds no token that still has to be looked up
+     */
+    private static OAuth2Authorization withoutAccessToken(OAuth2Authorization authorization,
+                                                          RegisteredClient registeredClient) {
+        List<OAuth2Authorization.Token<? extends OAuth2Token>> retained = Stream.of(
+                        OAuth2RefreshToken.class, OidcIdToken.class, OAuth2UserCode.class, OAuth2DeviceCode.class)
+                .<OAuth2Authorization.Token<? extends OAuth2Token>>map(authorization::getToken)
+                .filter(Objects::nonNull)
+                .toList();
+        if (retained.isEmpty()) {
+            return null;
+        }
+
+        OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(authorization.getId())
+                .principalName(authorization.getPrincipalName())
+                .authorizationGrantType(authorization.getAuthorizationGrantType())
+                .authorizedScopes(authorization.getAuthorizedScopes())
+                .attributes(attributes -> attributes.putAll(authorization.getAttributes()));
+        OAuth2Authorization.Token<OAuth2AuthorizationCode> authorizationCode =
+                authorization.getToken(OAuth2AuthorizationCode.class);
+        if (authorizationCode != null) {
+            builder.token(authorizationCode.getToken(), metadata -> metadata.putAll(authorizationCode.getMetadata()));
+        }
+        for (OAuth2Authorization.Token<? extends OAuth2Token> token : retained) {
+            builder.token(token.getToken(), metadata -> metadata.putAll(token.getMetadata()));
         }
+        return builder.build();
+    }
+
+    // Token管理相关方法
+
+    /**
+     * Revoke every authorization of a user
+     *
+     * @return Number of revoked authorizations
+     */
+    public int revokeTokensByPrincipalName(String principalName) {
+        int revoked = storeProperties.isEnabled()
+                ? redisAuthorizationService.removeByPrincipalName(principalName, null) : 0;
+        return revoked + revokeWhere("principal_name = ?", principalName);
+    }
+
+    /**
+     * Revoke every authorization a user granted to one client
+     *
+     * @return Number of revoked authorizations
+     */
+    public int revokeTokensByClientAndPrincipal(String clientId, String principalName) {
+        int revoked = storeProperties.isEnabled()
+                ? redisAuthorizationService.removeByPrincipalName(principalName, clientId) : 0;
+        return revoked + revokeWhere("registered_client_id = ? AND principal_name = ?", clientId, principalName);
+    }
+
+    /**
+     * Delete one batch of authorizations whose every token expired before the cutoff
+     *
+     * @param cutoff    Instant every expiry of a row must precede
+     * @param batchSize Maximum rows to delete
+     * @return Number of deleted authorizations
+     */
+    public int purgeExpired(Instant cutoff, int batchSize) {
+        List<String> ids = deleteBatch("""
+                GREATEST(authorization_code_expires_at, access_token_expires_at,
+                         refresh_token_expires_at, oidc_id_token_expires_at,
+                         user_code_expires_at, device_code_expires_at) < ?
+                """, batchSize, Timestamp.from(cutoff));
+        return ids.size();
+    }
+
+    /**
+     * Delete matching rows in chunks without materializing them
+     */
+    private int revokeWhere(String condition, Object... args) {
+        int revoked = 0;
+        List<String> ids;
+        do {
+            ids = deleteBatch(condition, REVOKE_BATCH_SIZE, args);
+            revoked += ids.size();
+        } while (ids.size() == REVOKE_BATCH_SIZE);
+
+        return revoked;
+    }
+
+    /**
+     * Delete up to batchSize matching rows and evict their ids from the authorization cache
+     *
+     * @return Ids of the deleted rows
+     */
+    private List<String> deleteBatch(String condition, int batchSize, Object... args) {
+        String sql = """
+            DELETE FROM oauth2_authorization
+            WHERE id IN (SELECT id FROM oauth2_authorization WHERE %s LIMIT ?)
+            RETURNING id
+            """.formatted(condition);
+
+        Object[] params = Arrays.copyOf(args, args.length + 1);
+        params[args.length] = batchSize;
+
+        List<String> ids = jdbcTemplate.queryForList(sql, String.class, params);
+        authorizationCache.evictAll(ids);
+        return ids;
     }
 }
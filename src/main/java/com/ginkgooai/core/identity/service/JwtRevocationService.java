@@ -0,0 +1,200 @@
+package com.ginkgooai.core.identity.service;
+
+import com.ginkgooai.core.identity.config.properties.JwtRevocationProperties;
+import com.ginkgooai.core.identity.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Denylist for JWT access tokens, which remain valid by signature until they expire.
+ * <p>
+ * Revocations are Redis keys expiring with the tokens they cover: one per revoked {@code jti},
+ * and one per subject (optionally per subject and client) holding the revocation time, which
+ * rejects every token issued up to then. Each node mirrors the key names in a Bloom filter
+ * fed by a pub/sub channel and rebuilt periodically, so the common case of a token that was
+ * never revoked is answered in memory; only filter hits are confirmed against Redis.
+ */
+@Slf4j
+@Service
+public class JwtRevocationService {
+
+    private static final String JTI_KEY = "jti:";
+    private static final String PRINCIPAL_KEY = "sub:";
+    private static final String CLIENT_KEY = ":aud:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtRevocationProperties properties;
+
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    /**
+     * Filter being rebuilt, if any; revocations arriving mid-scan are added to it as well
+     */
+    private final AtomicReference<BloomFilter> rebuilding = new AtomicReference<>();
+
+    public JwtRevocationService(
+            StringRedisTemplate redisTemplate,
+            @Qualifier("cacheInvalidationListenerContainer") RedisMessageListenerContainer listenerContainer,
+            JwtRevocationProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.properties = properties;
+        this.filter.set(newFilter());
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onRevocation, new ChannelTopic(properties.getSyncChannel()));
+        rebuild();
+    }
+
+    /**
+     * Revoke a single token until it expires
+     *
+     * @param jwt Decoded access token
+     */
+    public void revoke(Jwt jwt) {
+        if (jwt.getId() == null) {
+            log.warn("Cannot revoke a token without a jti claim, subject: {}", jwt.getSubject());
+            return;
+        }
+
+        Instant expiresAt = jwt.getExpiresAt();
+        Duration ttl = expiresAt == null ? properties.getPrincipalRevocationTimeToLive()
+                : Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        record(JTI_KEY + jwt.getId(), "1", ttl);
+    }
+
+    /**
+     * Revoke every token issued so far to a subject, optionally only those issued to one client
+     *
+     * @param subject  Token subject ({@code sub} claim), the user id for tokens minted for a user
+     * @param clientId Client id (audience), or null for every client
+     */
+    public void revokeIssuedBefore(String subject, String clientId) {
+        String name = clientId == null ? PRINCIPAL_KEY + subject : PRINCIPAL_KEY + subject + CLIENT_KEY + clientId;
+        record(name, String.valueOf(Instant.now().getEpochSecond()), properties.getPrincipalRevocationTimeToLive());
+    }
+
+    /**
+     * @param jwt Decoded access token
+     * @return Whether the token was revoked individually or through its user
+     */
+    public boolean isRevoked(Jwt jwt) {
+        BloomFilter current = filter.get();
+
+        if (jwt.getId() != null && current.mightContain(JTI_KEY + jwt.getId())
+                && Boolean.TRUE.equals(exists(JTI_KEY + jwt.getId()))) {
+            return true;
+        }
+
+        String subject = jwt.getSubject();
+        if (subject == null) {
+            return false;
+        }
+        Instant issuedAt = jwt.getIssuedAt();
+        if (isRevokedBefore(current, PRINCIPAL_KEY + subject, issuedAt)) {
+            return true;
+        }
+        if (jwt.getAudience() != null) {
+            for (String audience : jwt.getAudience()) {
+                if (isRevokedBefore(current, PRINCIPAL_KEY + subject + CLIENT_KEY + audience, issuedAt)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the filter with one holding only live denylist entries, dropping expired ones
+     */
+    @Scheduled(fixedDelayString = "#{@jwtRevocationProperties.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        BloomFilter rebuilt = newFilter();
+        rebuilding.set(rebuilt);
+        int prefixLength = properties.getKeyPrefix().length();
+        ScanOptions options = ScanOptions.scanOptions().match(properties.getKeyPrefix() + "*").count(1000).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            keys.forEachRemaining(key -> rebuilt.put(key.substring(prefixLength)));
+            filter.set(rebuilt);
+        } catch (RuntimeException e) {
+            // Keep the current filter; it only ever over-approximates the denylist
+            log.warn("Failed to rebuild JWT revocation filter", e);
+        } finally {
+            rebuilding.set(null);
+        }
+    }
+
+    private void record(String name, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(properties.getKeyPrefix() + name, value, ttl);
+        addToFilter(name);
+        redisTemplate.convertAndSend(properties.getSyncChannel(), name);
+    }
+
+    private void addToFilter(String name) {
+        filter.get().put(name);
+        BloomFilter pending = rebuilding.get();
+        if (pending != null) {
+            pending.put(name);
+        }
+    }
+
+    private boolean isRevokedBefore(BloomFilter current, String name, Instant issuedAt) {
+        if (!current.mightContain(name)) {
+            return false;
+        }
+        String revokedAt = get(name);
+        return revokedAt != null
+                && (issuedAt == null || issuedAt.getEpochSecond() <= Long.parseLong(revokedAt));
+    }
+
+    /**
+     * Filter hits are confirmed in Redis; if Redis is unreachable the hit is treated as a
+     * revocation, failing closed for the few tokens the filter flags
+     */
+    private Boolean exists(String name) {
+        try {
+            return redisTemplate.hasKey(properties.getKeyPrefix() + name);
+        } catch (RuntimeException e) {
+            log.warn("Failed to confirm JWT revocation, rejecting token", e);
+            return Boolean.TRUE;
+        }
+    }
+
+    private String get(String name) {
+        try {
+            return redisTemplate.opsForValue().get(properties.getKeyPrefix() + name);
+        } catch (RuntimeException e) {
+            log.warn("Failed to confirm JWT revocation, rejecting token", e);
+            return String.valueOf(Long.MAX_VALUE);
+        }
+    }
+
+    private void onRevocation(Message message, byte[] pattern) {
+        addToFilter(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+    }
+}
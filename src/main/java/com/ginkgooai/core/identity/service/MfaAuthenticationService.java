@@ -1,14 +1,11 @@
 package com.ginkgooai.core.identity.service;
 
-import com.ginkgooai.core.identity.domain.UserInfo;
+import com.ginkgooai.core.identity.dto.UserClaims;
 import com.ginkgooai.core.identity.dto.response.MfaSendResponse;
 import com.ginkgooai.core.identity.exception.InvalidVerificationCodeException;
-import com.ginkgooai.core.identity.exception.ResourceNotFoundException;
-import com.ginkgooai.core.identity.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
 import java.util.HashMap;
@@ -21,14 +18,17 @@ public class MfaAuthenticationService {
     private static final String MFA_SESSION_KEY = "mfa:session:";
     private static final long MFA_SESSION_DURATION = 300; // 5 minutes
     private final MfaService mfaService;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final RedisTemplate<String, String> redisTemplate;
 
-    @Transactional
+    /**
+     * Not transactional: the pre-check is a cache read, and the MFA calls open their own
+     * transactions only for users who actually have MFA enabled
+     */
     public Map<String, Object> handleMfa(String email, String mfaCode) throws InvalidVerificationCodeException {
-        UserInfo user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-        
+        // Served from the claims cache; most users have no MFA and stop here
+        UserClaims user = userService.loadUserClaims(email);
+
         if (!user.isMfaEnabled()) {
             return new HashMap<>();
         }
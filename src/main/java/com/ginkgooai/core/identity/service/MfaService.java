@@ -14,19 +14,15 @@ import com.ginkgooai.core.identity.exception.MfaLockedException;
 import com.ginkgooai.core.identity.exception.ResourceNotFoundException;
 import com.ginkgooai.core.identity.repository.MfaInfoRepository;
 import com.ginkgooai.core.identity.repository.UserRepository;
-import com.ginkgooai.core.identity.util.TotpUtils;
+import com.ginkgooai.core.identity.security.TotpEngine;
+import com.ginkgooai.core.identity.service.cache.UserClaimsCache;
+import com.ginkgooai.core.identity.util.CryptoUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.apache.commons.codec.binary.Base32;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -37,14 +33,14 @@ import java.util.stream.IntStream;
 @Transactional
 public class MfaService {
 
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    private static final Base32 base32 = new Base32();
     private static final int BACKUP_CODES_COUNT = 10;
     private static final int MAX_VERIFICATION_ATTEMPTS = 5;
     private final MfaInfoRepository mfaInfoRepository;
     private final UserRepository userRepository;
     private final VerificationCodeService verificationCodeService;
     private final EmailService emailService;
+    private final UserClaimsCache userClaimsCache;
+    private final TotpEngine totpEngine;
 
     public List<MfaInfoResponse> listMfaMethods(String userId) {
         log.debug("Listing MFA methods for user: {}", userId);
@@ -99,6 +95,7 @@ public class MfaService {
         }
 
         mfaInfoRepository.delete(mfaInfo);
+        refreshMfaFlags(mfaInfo.getUser());
     }
 
     /**
@@ -133,11 +130,7 @@ public class MfaService {
                 }
                 case TOTP -> {
                     // For TOTP, return necessary information instead of sending a code
-                    String qrCodeUrl = TotpUtils.generateQrCodeUri(
-                            user.getEmail(),
-                            mfaInfo.getSecretKey(),
-                            "ginkgoo"
-                    );
+                    String qrCodeUrl = totpEngine.generateQrCodeUri(user.getEmail(), mfaInfo.getSecretKey());
                     return new MfaSendResponse(MfaType.TOTP, qrCodeUrl);
                 }
                 default -> throw new UnsupportedOperationException("Unsupported MFA type: " + mfaInfo.getType());
@@ -190,7 +183,7 @@ public class MfaService {
         boolean isValid;
         switch (mfaInfo.getType()) {
             case TOTP:
-                isValid = verifyTotpCode(mfaInfo.getSecretKey(), code);
+                isValid = verifyTotpCode(mfaInfo, code);
                 break;
             case EMAIL:
                 isValid = verifyEmailCode(userId, code);
@@ -208,10 +201,15 @@ public class MfaService {
             throw new InvalidVerificationCodeException("Invalid verification code");
         }
 
+        boolean newlyEnabled = !mfaInfo.isEnabled();
         mfaInfo.setStatus(MfaStatus.ENABLED);
         mfaInfo.resetAttempts();
         mfaInfo.recordSuccessfulVerification();
         mfaInfoRepository.save(mfaInfo);
+
+        if (newlyEnabled) {
+            refreshMfaFlags(mfaInfo.getUser());
+        }
     }
 
     public void setDefaultMfa(String userId, String mfaId) {
@@ -227,6 +225,7 @@ public class MfaService {
 
         mfaInfo.setDefault(true);
         mfaInfoRepository.save(mfaInfo);
+        refreshMfaFlags(mfaInfo.getUser());
     }
 
     public BackupCodesResponse generateBackupCodes(String userId) {
@@ -263,14 +262,23 @@ public class MfaService {
         return mfaInfo;
     }
 
+    /**
+     * Sync the MFA flags on user_info read by the login pre-check
+     *
+     * @param user Owner of the changed MFA method
+     */
+    private void refreshMfaFlags(UserInfo user) {
+        String email = user.getEmail();
+        userRepository.refreshMfaFlags(user.getId());
+        userClaimsCache.evict(email);
+    }
+
     private String generateTotpSecret() {
-        byte[] buffer = new byte[20];
-        SECURE_RANDOM.nextBytes(buffer);
-        return base32.encodeToString(buffer);
+        return totpEngine.generateSecret();
     }
 
-    private boolean verifyTotpCode(String secretKey, String code) {
-        return TotpUtils.verifyCode(secretKey, code);
+    private boolean verifyTotpCode(MfaInfo mfaInfo, String code) {
+        return totpEngine.verify(mfaInfo.getId(), mfaInfo.getSecretKey(), code);
     }
 
     private boolean verifyEmailCode(String userId, String code) {
@@ -285,7 +293,7 @@ public class MfaService {
 
     private List<String> generateNewBackupCodes() {
         return IntStream.range(0, BACKUP_CODES_COUNT)
-                .mapToObj(i -> String.format("%08d", SECURE_RANDOM.nextInt(100000000)))
+                .mapToObj(i -> CryptoUtils.randomDigits(8))
                 .collect(Collectors.toList());
     }
 
@@ -296,12 +304,6 @@ public class MfaService {
     }
 
     private String hashCode(String code) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(code.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to hash code", e);
-        }
+        return CryptoUtils.sha256Base64(code);
     }
 }
\ No newline at end of file
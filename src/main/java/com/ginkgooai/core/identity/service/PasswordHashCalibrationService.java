@@ -0,0 +1,106 @@
+package com.ginkgooai.core.identity.service;
+
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import com.ginkgooai.core.identity.dto.response.PasswordHashCalibrationResponse;
+import com.ginkgooai.core.identity.security.PasswordEncoders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures hash time per algorithm and cost on the running hardware, so the configured
+ * parameters can be chosen from real throughput numbers rather than guessed.
+ * <p>
+ * Hashes run one at a time on the calling thread, so a sample approximates the cost of one
+ * login on one otherwise idle core. Only one calibration runs at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordHashCalibrationService {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+
+    private final PasswordHashingProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrateOnStartup() {
+        if (!properties.isCalibrateOnStartup()) {
+            return;
+        }
+        calibrate().forEach(result -> log.info("Password hash calibration: {} {} took {} ms, {} logins/s/core, {} logins/s{}",
+                result.getAlgorithm(), result.getParameters(), result.getMedianMillis(),
+                result.getLoginsPerSecondPerCore(), result.getLoginsPerSecond(), result.isCurrent() ? " (current)" : ""));
+    }
+
+    /**
+     * @return One result per candidate configuration, including the configured one
+     * @throws IllegalStateException if a calibration is already running
+     */
+    public List<PasswordHashCalibrationResponse> calibrate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Password hash calibration already running");
+        }
+
+        try {
+            List<PasswordHashCalibrationResponse> results = new ArrayList<>();
+            for (int strength : new int[]{10, 11, 12, 13}) {
+                results.add(measure(PasswordEncoders.BCRYPT, "strength=" + strength,
+                        PasswordEncoders.bcrypt(strength), strength == properties.getBcryptStrength()));
+            }
+            for (int[] argon2 : new int[][]{{16_384, 2, 1}, {19_456, 2, 1}, {47_104, 1, 1}, {65_536, 3, 1}}) {
+                boolean current = argon2[0] == properties.getArgon2MemoryKib()
+                        && argon2[1] == properties.getArgon2Iterations()
+                        && argon2[2] == properties.getArgon2Parallelism();
+                results.add(measure(PasswordEncoders.ARGON2,
+                        "memoryKib=" + argon2[0] + ",iterations=" + argon2[1] + ",parallelism=" + argon2[2],
+                        PasswordEncoders.argon2(argon2[0], argon2[1], argon2[2]), current));
+            }
+            for (int iterations : new int[]{310_000, 600_000}) {
+                results.add(measure(PasswordEncoders.PBKDF2, "iterations=" + iterations,
+                        PasswordEncoders.pbkdf2(iterations), iterations == properties.getPbkdf2Iterations()));
+            }
+            return results;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PasswordHashCalibrationResponse measure(String algorithm, String parameters, PasswordEncoder encoder,
+                                                    boolean matchesConfiguration) {
+        // Warm-up, also produces the hash the timed samples verify against
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+
+        int samples = Math.max(1, properties.getCalibrationSamples());
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        double medianMillis = nanos[samples / 2] / 1_000_000d;
+        double perCore = 1000d / medianMillis;
+        return PasswordHashCalibrationResponse.builder()
+                .algorithm(algorithm)
+                .parameters(parameters)
+                .medianMillis(Math.round(medianMillis * 100) / 100d)
+                .loginsPerSecondPerCore(Math.round(perCore * 10) / 10d)
+                .loginsPerSecond(Math.round(perCore * properties.getThreads() * 10) / 10d)
+                .current(matchesConfiguration && algorithm.equals(properties.getAlgorithm()))
+                .build();
+    }
+}
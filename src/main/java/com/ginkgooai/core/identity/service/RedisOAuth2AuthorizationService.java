@@ -0,0 +1,330 @@
+package com.ginkgooai.core.identity.service;
+
+import com.ginkgooai.core.identity.config.properties.AuthorizationStoreProperties;
+import com.ginkgooai.core.identity.util.OAuth2AuthorizationUtils;
+import com.ginkgooai.core.identity.util.TokenDigestUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Redis-backed store for short-lived authorizations.
+ * <p>
+ * Each authorization is a single key expiring with its last token, so nothing has to be
+ * deleted once the flow completes. Token values map to the authorization id through digest
+ * pointers that are verified on read and simply age out. Two sorted sets (by access token
+ * issue time and by expiry) and a per-principal set back the admin queries; their members
+ * are pruned lazily and by the housekeeping job.
+ */
+@Slf4j
+@Service
+public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    private static final String ID_KEY = "id:";
+    private static final String TOKEN_KEY = "token:";
+    private static final String PRINCIPAL_KEY = "principal:";
+    private static final String ISSUED_INDEX_KEY = "index:issued";
+    private static final String EXPIRY_INDEX_KEY = "index:expires";
+
+    private final RedisTemplate<String, OAuth2Authorization> authorizationRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AuthorizationStoreProperties properties;
+
+    public RedisOAuth2AuthorizationService(
+            RedisTemplate<String, OAuth2Authorization> authorizationRedisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            AuthorizationStoreProperties properties) {
+        this.authorizationRedisTemplate = authorizationRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        Duration ttl = timeToLive(authorization);
+        if (ttl.isZero()) {
+            remove(authorization);
+            return;
+        }
+
+        String id = authorization.getId();
+        authorizationRedisTemplate.opsForValue().set(key(ID_KEY + id), authorization, ttl);
+
+        Instant expiry = Instant.now().plus(ttl);
+        Duration principalTtl = properties.getMaxTimeToLive().compareTo(properties.getPendingTimeToLive()) > 0
+                ? properties.getMaxTimeToLive() : properties.getPendingTimeToLive();
+        List<String> tokenValues = tokenValues(authorization);
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String tokenValue : tokenValues) {
+                    ops.opsForValue().set(key(TOKEN_KEY + TokenDigestUtils.sha256Hex(tokenValue)), id, ttl);
+                }
+                String principalKey = key(PRINCIPAL_KEY + authorization.getPrincipalName());
+                ops.opsForSet().add(principalKey, id);
+                ops.expire(principalKey, principalTtl);
+                ops.opsForZSet().add(key(EXPIRY_INDEX_KEY), id, score(expiry));
+                if (accessToken != null) {
+                    ops.opsForZSet().add(key(ISSUED_INDEX_KEY), id, score(accessToken.getToken().getIssuedAt()));
+                }
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        removeIfPresent(authorization);
+    }
+
+    /**
+     * @return Whether the authorization was held by this store
+     */
+    public boolean removeIfPresent(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        String id = authorization.getId();
+        Boolean deleted = authorizationRedisTemplate.delete(key(ID_KEY + id));
+        if (Boolean.TRUE.equals(deleted)) {
+            stringRedisTemplate.opsForSet().remove(key(PRINCIPAL_KEY + authorization.getPrincipalName()), id);
+            removeFromIndexes(List.of(id));
+        }
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return authorizationRedisTemplate.opsForValue().get(key(ID_KEY + id));
+    }
+
+    @Override
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+
+        // Authorizations holding a refresh token are never kept here
+        if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            return null;
+        }
+
+        String id = stringRedisTemplate.opsForValue().get(key(TOKEN_KEY + TokenDigestUtils.sha256Hex(token)));
+        if (id == null) {
+            return null;
+        }
+
+        OAuth2Authorization authorization = findById(id);
+        return authorization != null && OAuth2AuthorizationUtils.hasToken(authorization, token, tokenType)
+                ? authorization : null;
+    }
+
+    /**
+     * @param principalName Principal name
+     * @return Live authorizations of the principal
+     */
+    public List<OAuth2Authorization> findByPrincipalName(String principalName) {
+        String principalKey = key(PRINCIPAL_KEY + principalName);
+        Set<String> ids = stringRedisTemplate.opsForSet().members(principalKey);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> idList = List.copyOf(ids);
+        List<OAuth2Authorization> authorizations = multiGet(idList);
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < idList.size(); i++) {
+            if (authorizations.get(i) == null) {
+                expired.add(idList.get(i));
+            }
+        }
+        if (!expired.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(principalKey, expired.toArray());
+        }
+
+        return authorizations.stream().filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Remove the authorizations of a principal, optionally limited to one registered client
+     *
+     * @param principalName      Principal name
+     * @param registeredClientId Registered client id, or null for every client
+     * @return Number of removed authorizations
+     */
+    public int removeByPrincipalName(String principalName, String registeredClientId) {
+        int removed = 0;
+        for (OAuth2Authorization authorization : findByPrincipalName(principalName)) {
+            if (registeredClientId == null || registeredClientId.equals(authorization.getRegisteredClientId())) {
+                if (removeIfPresent(authorization)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Authorizations with a valid access token, ordered by (access token issue time, id)
+     * descending and starting strictly after the given position
+     *
+     * @param issuedAt Issue time of the last row of the previous page, or null for the first page
+     * @param id       Id of the last row of the previous page, or null for the first page
+     * @param limit    Maximum number of rows
+     */
+    public List<OAuth2Authorization> findValidBefore(Instant issuedAt, String id, int limit) {
+        ZSetOperations<String, String> index = stringRedisTemplate.opsForZSet();
+        String indexKey = key(ISSUED_INDEX_KEY);
+        double max = issuedAt == null ? Double.POSITIVE_INFINITY : score(issuedAt);
+
+        // Members sharing the cursor's score come first and may all be skipped
+        long ties = 0;
+        if (issuedAt != null) {
+            Long count = index.count(indexKey, max, max);
+            ties = count == null ? 0 : count;
+        }
+        long batchSize = limit + ties;
+
+        Instant now = Instant.now();
+        List<OAuth2Authorization> result = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        long offset = 0;
+        while (result.size() < limit) {
+            Set<ZSetOperations.TypedTuple<String>> tuples =
+                    index.reverseRangeByScoreWithScores(indexKey, Double.NEGATIVE_INFINITY, max, offset, batchSize);
+            if (tuples == null || tuples.isEmpty()) {
+                break;
+            }
+            offset += tuples.size();
+
+            List<String> ids = tuples.stream()
+                    .filter(tuple -> issuedAt == null
+                            || tuple.getScore() < max
+                            || Objects.requireNonNull(tuple.getValue()).compareTo(id) < 0)
+                    .map(ZSetOperations.TypedTuple::getValue)
+                    .toList();
+            List<OAuth2Authorization> authorizations = multiGet(ids);
+            for (int i = 0; i < ids.size() && result.size() < limit; i++) {
+                OAuth2Authorization authorization = authorizations.get(i);
+                if (authorization == null) {
+                    stale.add(ids.get(i));
+                } else if (isValid(authorization, now)) {
+                    result.add(authorization);
+                }
+            }
+
+            if (tuples.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            removeFromIndexes(stale);
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of indexed authorizations, including ones not yet pruned
+     */
+    public long countIndexed() {
+        Long count = stringRedisTemplate.opsForZSet().zCard(key(ISSUED_INDEX_KEY));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Drop index entries of authorizations that expired on their own
+     *
+     * @return Number of pruned entries
+     */
+    public int pruneIndexes() {
+        Set<String> expired = stringRedisTemplate.opsForZSet()
+                .rangeByScore(key(EXPIRY_INDEX_KEY), Double.NEGATIVE_INFINITY, score(Instant.now()));
+        if (expired == null || expired.isEmpty()) {
+            return 0;
+        }
+
+        removeFromIndexes(expired);
+        return expired.size();
+    }
+
+    private void removeFromIndexes(Collection<String> ids) {
+        Object[] members = ids.toArray();
+        stringRedisTemplate.opsForZSet().remove(key(ISSUED_INDEX_KEY), members);
+        stringRedisTemplate.opsForZSet().remove(key(EXPIRY_INDEX_KEY), members);
+    }
+
+    private List<OAuth2Authorization> multiGet(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<OAuth2Authorization> authorizations = authorizationRedisTemplate.opsForValue()
+                .multiGet(ids.stream().map(id -> key(ID_KEY + id)).toList());
+        return authorizations == null ? ids.stream().map(id -> (OAuth2Authorization) null).toList() : authorizations;
+    }
+
+    private Duration timeToLive(OAuth2Authorization authorization) {
+        Instant now = Instant.now();
+        return OAuth2AuthorizationUtils.latestExpiry(authorization)
+                .map(expiry -> Duration.between(now, expiry))
+                .map(ttl -> ttl.isNegative() ? Duration.ZERO : ttl)
+                .orElse(properties.getPendingTimeToLive());
+    }
+
+    private String key(String key) {
+        return properties.getKeyPrefix() + key;
+    }
+
+    private static List<String> tokenValues(OAuth2Authorization authorization) {
+        String state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+        return Stream.concat(
+                        Stream.ofNullable(state),
+                        Stream.of(OAuth2AuthorizationCode.class, OAuth2AccessToken.class, OidcIdToken.class)
+                                .map(authorization::getToken)
+                                .filter(Objects::nonNull)
+                                .map(OAuth2Authorization.Token::getToken)
+                                .map(OAuth2Token::getTokenValue))
+                .toList();
+    }
+
+    private static boolean isValid(OAuth2Authorization authorization, Instant now) {
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        return accessToken != null
+                && accessToken.getToken().getExpiresAt() != null
+                && accessToken.getToken().getExpiresAt().isAfter(now);
+    }
+
+    /**
+     * Microseconds since the epoch, exactly representable as a double for the foreseeable future
+     */
+    private static double score(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000L;
+    }
+}
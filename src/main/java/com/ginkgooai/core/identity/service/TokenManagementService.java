@@ -1,14 +1,19 @@
 package com.ginkgooai.core.identity.service;
 
 import com.ginkgooai.core.identity.dto.TokenInfo;
+import com.ginkgooai.core.identity.dto.TokenPage;
+import com.ginkgooai.core.identity.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,21 +24,33 @@ import java.util.stream.Collectors;
 public class TokenManagementService {
 
     private final CachedOAuth2AuthorizationService authorizationService;
+    private final JwtRevocationService jwtRevocationService;
+    private final RegisteredClientRepository registeredClientRepository;
+    private final UserService userService;
 
-    public TokenManagementService(CachedOAuth2AuthorizationService authorizationService) {
+    public TokenManagementService(
+            CachedOAuth2AuthorizationService authorizationService,
+            JwtRevocationService jwtRevocationService,
+            RegisteredClientRepository registeredClientRepository,
+            UserService userService) {
         this.authorizationService = authorizationService;
+        this.jwtRevocationService = jwtRevocationService;
+        this.registeredClientRepository = registeredClientRepository;
+        this.userService = userService;
     }
 
     /**
      * Revoke all tokens for a specific user
+     *
+     * @return Number of revoked authorizations
      */
-    public void revokeTokens(String username) {
+    public int revokeTokens(String username) {
         try {
-            Collection<OAuth2Authorization> authorizations =
-                    authorizationService.findByPrincipalName(username);
-
-            authorizations.forEach(auth -> authorizationService.remove(auth));
-            log.info("Successfully revoked all tokens for user: {}", username);
+            int revoked = authorizationService.revokeTokensByPrincipalName(username);
+            // Covers JWT access tokens, including ones never stored in stateless mode
+            revokeJwts(username, null);
+            log.info("Successfully revoked {} tokens for user: {}", revoked, username);
+            return revoked;
         } catch (Exception e) {
             log.error("Failed to revoke tokens for user: " + username, e);
             throw new RuntimeException("Error getting active tokens", e);
@@ -42,23 +59,27 @@ public class TokenManagementService {
 
     /**
      * Revoke tokens for specific client and user
+     *
+     * @return Number of revoked authorizations
      */
-    public void revokeClientTokens(String username, String clientId) {
+    public int revokeClientTokens(String username, String clientId) {
         try {
-            Collection<OAuth2Authorization> authorizations =
-                    authorizationService.findByPrincipalName(username);
-
-            authorizations.stream()
-                    .filter(auth -> auth.getRegisteredClientId().equals(clientId))
-                    .forEach(auth -> authorizationService.remove(auth));
+            int revoked = authorizationService.revokeTokensByClientAndPrincipal(clientId, username);
+            RegisteredClient registeredClient = registeredClientRepository.findById(clientId);
+            if (registeredClient != null) {
+                // JWT audiences carry the public client id, not the registration id
+                revokeJwts(username, registeredClient.getClientId());
+            }
 
             log.info("""
-                Successfully revoked tokens for user: {} 
+                Successfully revoked {} tokens for user: {} 
                 and client: {}
                 """,
+                    revoked,
                     username,
                     clientId
             );
+            return revoked;
         } catch (Exception e) {
             log.error("""
                 Failed to revoke tokens for user: {} 
@@ -72,6 +93,20 @@ public class TokenManagementService {
         }
     }
 
+    /**
+     * Revoke the JWT access tokens of a user by subject. Tokens minted for a user carry the
+     * user id as subject in place of the principal name (email); any other token keeps the
+     * principal name, so both are revoked.
+     *
+     * @param username Principal name
+     * @param clientId Public client id (audience), or null for every client
+     */
+    private void revokeJwts(String username, String clientId) {
+        jwtRevocationService.revokeIssuedBefore(username, clientId);
+        userService.findUserClaims(username)
+                .ifPresent(user -> jwtRevocationService.revokeIssuedBefore(user.getId(), clientId));
+    }
+
     /**
      * Get all tokens for a specific user
      */
@@ -102,6 +137,37 @@ public class TokenManagementService {
         }
     }
 
+    /**
+     * Get active tokens a page at a time using an opaque keyset cursor
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size   Page size
+     */
+    public TokenPage getActiveTokens(String cursor, int size) {
+        KeysetCursor<Instant> after = KeysetCursor.decode(cursor, Instant::parse);
+
+        // One extra row tells whether another page exists
+        List<OAuth2Authorization> authorizations = after == null
+                ? authorizationService.findValidBefore(null, null, size + 1)
+                : authorizationService.findValidBefore(after.value(), after.id(), size + 1);
+        boolean hasNext = authorizations.size() > size;
+        if (hasNext) {
+            authorizations = authorizations.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            OAuth2Authorization last = authorizations.get(authorizations.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getAccessToken().getToken().getIssuedAt(), last.getId());
+        }
+
+        return TokenPage.builder()
+                .content(authorizations.stream().map(this::convertToTokenInfo).toList())
+                .nextCursor(nextCursor)
+                .estimatedTotal(authorizationService.estimateValidCount())
+                .build();
+    }
+
     private TokenInfo convertToTokenInfo(OAuth2Authorization authorization) {
         OAuth2Authorization.Token<OAuth2AccessToken> accessToken =
                 authorization.getToken(OAuth2AccessToken.class);
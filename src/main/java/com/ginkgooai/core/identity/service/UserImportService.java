@@ -0,0 +1,410 @@
+package com.ginkgooai.core.identity.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.core.identity.config.properties.PasswordHashingProperties;
+import com.ginkgooai.core.identity.domain.UserStatus;
+import com.ginkgooai.core.identity.dto.response.UserImportResponse;
+import com.ginkgooai.core.identity.dto.response.UserImportRowResult;
+import com.ginkgooai.core.identity.enums.UserImportStatus;
+import com.ginkgooai.core.identity.security.PasswordEncoders;
+import com.ginkgooai.core.identity.util.UuidV7;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk account creation for customer onboarding.
+ * <p>
+ * The upload is read as a stream and processed in batches. For each batch, emails already
+ * registered are found with one set query, passwords present in the file are hashed in
+ * parallel on a small dedicated pool, kept apart from the login hashing pool so an import
+ * never takes queue slots from interactive sign-ins, and the remaining rows are loaded with {@code COPY}
+ * into a temporary table and moved into user_info with one {@code INSERT ... ON CONFLICT DO
+ * NOTHING}, which also covers accounts registered concurrently. A failed batch is reported
+ * row by row and does not stop the import.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final int BATCH_SIZE = 5000;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE user_import (
+                id         VARCHAR(36),
+                email      VARCHAR(255),
+                password   VARCHAR(255),
+                first_name VARCHAR(100),
+                last_name  VARCHAR(100)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY user_import (id, email, password, first_name, last_name) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_FROM_STAGING_TABLE = """
+            INSERT INTO identity.user_info (id, email, password, first_name, last_name, status, roles, login_methods,
+                                            mfa_enabled, created_at, updated_at)
+            SELECT id, email, password, first_name, last_name, ?,
+                   ARRAY['ROLE_USER']::varchar[],
+                   CASE WHEN password IS NULL THEN '{}'::varchar[] ELSE ARRAY['PASSWORD']::varchar[] END,
+                   FALSE, LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM user_import
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String FIND_EXISTING_EMAILS = "SELECT email FROM identity.user_info WHERE email = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Same algorithm and cost as logins, without the bounded login pool in front
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Shared by concurrent imports, so together they never use more than the configured threads
+     */
+    private final ExecutorService hashingExecutor;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             PasswordHashingProperties hashingProperties, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = PasswordEncoders.delegating(hashingProperties);
+        this.hashingExecutor = Executors.newFixedThreadPool(hashingProperties.getImportThreads(),
+                new CustomizableThreadFactory("password-import-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Import users from a CSV file with a header row (email, first_name, last_name, password)
+     * or from newline-delimited JSON objects with the same fields. Only email is required;
+     * users without a password can sign in through a social provider or a password reset.
+     *
+     * @param body        Uploaded file
+     * @param contentType {@value #TEXT_CSV} or {@value #APPLICATION_NDJSON}
+     * @param activate    Create users as ACTIVE instead of awaiting email verification
+     * @return One result per row, in file order
+     */
+    public UserImportResponse importUsers(InputStream body, MediaType contentType, boolean activate) throws IOException {
+        boolean csv = MediaType.parseMediaType(TEXT_CSV).isCompatibleWith(contentType);
+        UserStatus status = activate ? UserStatus.ACTIVE : UserStatus.INACTIVE;
+
+        List<ImportRow> rows = new ArrayList<>();
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        Set<String> seenEmails = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseCsvLine(line).stream().map(UserImportService::normalize).toList();
+                    continue;
+                }
+
+                ImportRow row = csv ? readCsvRow(lineNumber, line, header) : readJsonRow(lineNumber, line);
+                rows.add(row);
+                if (row.result == null && !seenEmails.add(row.email)) {
+                    row.reject(UserImportStatus.DUPLICATE, "Email repeated earlier in the file");
+                }
+                if (row.result == null) {
+                    batch.add(row);
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(batch, status);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, status);
+        }
+
+        List<UserImportRowResult> results = rows.stream().map(row -> row.result).toList();
+        Map<UserImportStatus, Long> counts = new EnumMap<>(UserImportStatus.class);
+        results.forEach(result -> counts.merge(result.getStatus(), 1L, Long::sum));
+        log.info("User import finished: {} rows, {}", results.size(), counts);
+
+        return UserImportResponse.builder()
+                .total(results.size())
+                .created(counts.getOrDefault(UserImportStatus.CREATED, 0L).intValue())
+                .duplicates(counts.getOrDefault(UserImportStatus.DUPLICATE, 0L).intValue())
+                .invalid(counts.getOrDefault(UserImportStatus.INVALID, 0L).intValue())
+                .failed(counts.getOrDefault(UserImportStatus.FAILED, 0L).intValue())
+                .rows(results)
+                .build();
+    }
+
+    private void importBatch(List<ImportRow> batch, UserStatus status) {
+        try {
+            Set<String> existing = findExistingEmails(batch.stream().map(row -> row.email).toList());
+            List<ImportRow> pending = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                if (existing.contains(row.email)) {
+                    row.reject(UserImportStatus.DUPLICATE, "Email already registered");
+                } else {
+                    pending.add(row);
+                }
+            }
+
+            hashPasswords(pending);
+            pending.removeIf(row -> row.result != null);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            Set<String> createdIds = transactionTemplate.execute(tx -> copyIntoUserInfo(pending, status));
+            for (ImportRow row : pending) {
+                if (createdIds != null && createdIds.contains(row.id)) {
+                    row.result = new UserImportRowResult(row.line, row.email, UserImportStatus.CREATED, row.id, null);
+                } else {
+                    row.reject(UserImportStatus.DUPLICATE, "Email registered during the import");
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to import a batch of {} users", batch.size(), e);
+            batch.stream()
+                    .filter(row -> row.result == null)
+                    .forEach(row -> row.reject(UserImportStatus.FAILED, "Batch could not be stored"));
+        }
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        List<String> existing = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_EXISTING_EMAILS);
+            Array array = connection.createArrayOf("varchar", emails.toArray());
+            statement.setArray(1, array);
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(existing);
+    }
+
+    private void hashPasswords(List<ImportRow> rows) {
+        Map<ImportRow, Future<String>> hashes = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            if (row.password != null) {
+                String password = row.password;
+                row.password = null;
+                hashes.put(row, hashingExecutor.submit(() -> passwordEncoder.encode(password)));
+            }
+        }
+
+        for (Map.Entry<ImportRow, Future<String>> hash : hashes.entrySet()) {
+            try {
+                hash.getKey().hash = hash.getValue().get();
+            } catch (InterruptedException e) {
+                hashes.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("User import was interrupted", e);
+            } catch (ExecutionException e) {
+                log.warn("Failed to hash password of import row {}", hash.getKey().line, e.getCause());
+                hash.getKey().reject(UserImportStatus.FAILED, "Password could not be hashed");
+            }
+        }
+    }
+
+    private Set<String> copyIntoUserInfo(List<ImportRow> rows, UserStatus status) {
+        StringBuilder data = new StringBuilder(rows.size() * 128);
+        for (ImportRow row : rows) {
+            row.id = UuidV7.generateString();
+            appendCsv(data, row.id).append(',');
+            appendCsv(data, row.email).append(',');
+            appendCsv(data, row.hash).append(',');
+            appendCsv(data, row.firstName).append(',');
+            appendCsv(data, row.lastName).append('\n');
+        }
+
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_TABLE, new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to stream import rows", e);
+            }
+        });
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT_FROM_STAGING_TABLE, String.class, status.name()));
+    }
+
+    private ImportRow readCsvRow(long line, String text, List<String> header) {
+        List<String> values;
+        try {
+            values = parseCsvLine(text);
+        } catch (IllegalArgumentException e) {
+            return ImportRow.invalid(line, null, e.getMessage());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return ImportRow.of(line, fields);
+    }
+
+    private ImportRow readJsonRow(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            return ImportRow.invalid(line, null, "Malformed JSON");
+        }
+        if (!node.isObject()) {
+            return ImportRow.invalid(line, null, "Expected a JSON object");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+                fields.put(normalize(field.getKey()), field.getValue().asText());
+            }
+        });
+        return ImportRow.of(line, fields);
+    }
+
+    /**
+     * RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes,
+     * but not line breaks. Values are not trimmed, as passwords may have significant spaces.
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Unquoted empty fields are NULL in COPY's CSV format, so null values are written as
+     * nothing and every other value is quoted
+     */
+    private static StringBuilder appendCsv(StringBuilder data, String value) {
+        if (value == null) {
+            return data;
+        }
+        return data.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Accept first_name, firstName and FirstName alike
+     */
+    private static String normalize(String name) {
+        return name.replace("_", "").replace("-", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+        private String password;
+        private String hash;
+        private String id;
+        private UserImportRowResult result;
+
+        private ImportRow(long line, String email, String firstName, String lastName, String password) {
+            this.line = line;
+            this.email = email;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.password = password;
+        }
+
+        static ImportRow of(long line, Map<String, String> fields) {
+            String email = emptyToNull(fields.get("email"));
+            String password = fields.get("password");
+            ImportRow row = new ImportRow(line, email, emptyToNull(fields.get("firstname")),
+                    emptyToNull(fields.get("lastname")), StringUtils.hasLength(password) ? password : null);
+
+            if (email == null) {
+                row.reject(UserImportStatus.INVALID, "Email is required");
+            } else if (email.length() > 255 || !EMAIL.matcher(email).matches()) {
+                row.reject(UserImportStatus.INVALID, "Invalid email");
+            } else if ((row.firstName != null && row.firstName.length() > 100)
+                    || (row.lastName != null && row.lastName.length() > 100)) {
+                row.reject(UserImportStatus.INVALID, "Name longer than 100 characters");
+            }
+            return row;
+        }
+
+        static ImportRow invalid(long line, String email, String message) {
+            ImportRow row = new ImportRow(line, email, null, null, null);
+            row.reject(UserImportStatus.INVALID, message);
+            return row;
+        }
+
+        void reject(UserImportStatus status, String message) {
+            this.result = new UserImportRowResult(line, email, status, null, message);
+        }
+
+        private static String emptyToNull(String value) {
+            return StringUtils.hasText(value) ? value.trim() : null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ginkgooai.core.identity.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.core.identity.dto.UserProfile;
+import com.ginkgooai.core.identity.dto.response.UserResponse;
+import com.ginkgooai.core.identity.repository.UserRepository;
+import com.ginkgooai.core.identity.service.cache.UserResponseCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Bulk user resolution for other services. Cache hits come back from one Redis MGET and are
+ * written to the response without being deserialized; only the misses are loaded, in one
+ * query, and then cached. The cost of a call therefore stays flat in the number of users.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+    private final UserResponseCache userResponseCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stream a JSON array with one entry per distinct user found, in no particular order.
+     * Unknown ids and emails are left out.
+     *
+     * @param ids    User ids
+     * @param emails User emails
+     * @param out    Response body
+     */
+    public void resolve(Collection<String> ids, Collection<String> emails, OutputStream out) throws IOException {
+        List<String> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<String> emailList = new ArrayList<>(new LinkedHashSet<>(emails));
+
+        List<String> keys = new ArrayList<>(idList.size() + emailList.size());
+        idList.forEach(id -> keys.add(userResponseCache.idKey(id)));
+        emailList.forEach(email -> keys.add(userResponseCache.emailKey(email)));
+        List<String> cached = userResponseCache.getAll(keys);
+
+        Set<String> written = new HashSet<>();
+        List<String> missingIds = new ArrayList<>();
+        List<String> missingEmails = new ArrayList<>();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+
+            for (int i = 0; i < keys.size(); i++) {
+                String json = cached.get(i);
+                boolean byId = i < idList.size();
+                if (json == null) {
+                    if (byId) {
+                        missingIds.add(idList.get(i));
+                    } else {
+                        missingEmails.add(emailList.get(i - idList.size()));
+                    }
+                    continue;
+                }
+
+                String id = byId ? idList.get(i) : objectMapper.readTree(json).path("id").asText();
+                if (written.add(id)) {
+                    generator.writeRawValue(json);
+                }
+            }
+
+            if (!missingIds.isEmpty() || !missingEmails.isEmpty()) {
+                Map<String, String> loaded = new HashMap<>();
+                for (UserProfile profile : loadProfiles(missingIds, missingEmails)) {
+                    String json = objectMapper.writeValueAsString(UserResponse.from(profile));
+                    loaded.put(userResponseCache.idKey(profile.getId()), json);
+                    loaded.put(userResponseCache.emailKey(profile.getEmail()), json);
+                    if (written.add(profile.getId())) {
+                        generator.writeRawValue(json);
+                    }
+                }
+                userResponseCache.putAll(loaded);
+            }
+
+            generator.writeEndArray();
+        }
+
+        log.debug("Resolved {} users, {} of {} keys from cache", written.size(),
+                keys.size() - missingIds.size() - missingEmails.size(), keys.size());
+    }
+
+    private List<UserProfile> loadProfiles(List<String> ids, List<String> emails) {
+        if (emails.isEmpty()) {
+            return userRepository.findProfilesByIds(ids);
+        }
+        if (ids.isEmpty()) {
+            return userRepository.findProfilesByEmails(emails);
+        }
+        return userRepository.findProfilesByIdsOrEmails(ids, emails);
+    }
+}
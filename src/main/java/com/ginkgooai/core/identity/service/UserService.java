@@ -5,14 +5,19 @@ import com.ginkgooai.core.identity.domain.TokenIdentity;
 import com.ginkgooai.core.identity.domain.UserInfo;
 import com.ginkgooai.core.identity.domain.UserStatus;
 import com.ginkgooai.core.identity.domain.enums.LoginMethod;
+import com.ginkgooai.core.identity.dto.UserClaims;
+import com.ginkgooai.core.identity.dto.UserSearchPage;
 import com.ginkgooai.core.identity.dto.request.RegistrationRequest;
 import com.ginkgooai.core.identity.dto.response.UserResponse;
 import com.ginkgooai.core.identity.enums.VerificationStrategy;
 import com.ginkgooai.core.identity.exception.*;
 import com.ginkgooai.core.identity.repository.UserRepository;
+import com.ginkgooai.core.identity.repository.UserSearchRepository;
+import com.ginkgooai.core.identity.service.cache.UserClaimsCache;
 import com.ginkgooai.core.identity.service.verification.EmailVerificationStrategy;
 import com.ginkgooai.core.identity.service.verification.EmailVerificationStrategyFactory;
 import com.ginkgooai.core.identity.specification.UserSpecification;
+import com.ginkgooai.core.identity.util.KeysetCursor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.constraints.NotBlank;
@@ -29,6 +34,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,6 +49,8 @@ public class UserService {
     private final EmailVerificationStrategyFactory strategyFactory;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final UserClaimsCache userClaimsCache;
+    private final UserSearchRepository userSearchRepository;
     @Value("${app.verification.strategy}")
     private VerificationStrategy defaultStrategy;
 
@@ -50,11 +58,6 @@ public class UserService {
     public UserResponse createUser(RegistrationRequest request, HttpServletRequest httpRequest) {
         log.debug("Creating new user with email: {}", request.getEmail());
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Attempted to create user with existing email: {}", request.getEmail());
-            throw new EmailAlreadyExistsException(String.format("User with email '%s' already exists", request.getEmail()));
-        }
-
         String clientId = extractOauthClientSession(httpRequest, "client_id");
         String redirectUri = extractOauthClientSession(httpRequest, "redirect_uri");
         if (clientId == null) {
@@ -80,8 +83,7 @@ public class UserService {
         // Add default USER role
         user.getRoles().add(Role.ROLE_USER.name());
 
-        UserInfo savedUser = userRepository.save(user);
-        log.info("Successfully created user with email: {}", request.getEmail());
+        UserInfo savedUser = insertNewUser(user);
 
         // Send verification email based on strategy
         EmailVerificationStrategy verificationStrategy = strategyFactory.getStrategy(defaultStrategy);
@@ -95,11 +97,6 @@ public class UserService {
     public UserResponse createTempUser(RegistrationRequest request) {
         log.debug("Creating new user with email: {}", request.getEmail());
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Attempted to create user with existing email: {}", request.getEmail());
-            throw new EmailAlreadyExistsException(String.format("User with email '%s' already exists", request.getEmail()));
-        }
-
         UserInfo user = new UserInfo();
         user.setEmail(request.getEmail());
         user.setFirstName(request.getFirstName());
@@ -110,12 +107,25 @@ public class UserService {
         user.setLoginMethods(new ArrayList<>());
         user.getLoginMethods().add(LoginMethod.TEMP_TOKEN.name());
 
-        UserInfo savedUser = userRepository.save(user);
-        log.info("Successfully created user with email: {}", request.getEmail());
+        UserInfo savedUser = insertNewUser(user);
 
         return UserResponse.from(savedUser);
     }
 
+    /**
+     * Insert a user in one statement, failing if the email is already registered, including by
+     * a concurrent request that got there first
+     */
+    private UserInfo insertNewUser(UserInfo user) {
+        UserRepository.InsertResult result = userRepository.insertIfAbsent(user);
+        if (!result.created()) {
+            log.warn("Attempted to create user with existing email: {}", user.getEmail());
+            throw new EmailAlreadyExistsException(String.format("User with email '%s' already exists", user.getEmail()));
+        }
+        log.info("Successfully created user with email: {}", user.getEmail());
+        return result.user();
+    }
+
     /**
      * Extract client_id from saved request in session
      */
@@ -139,26 +149,54 @@ public class UserService {
     }
 
 
-    @Transactional
+    @Transactional(readOnly = true)
     public UserResponse loadUser(String email) {
         log.debug("Retrieving user by email: {}", email);
-        return UserResponse.from(userRepository.findByEmail(email)
+        return UserResponse.from(userRepository.findProfileByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("User", "email", email)));
     }
 
+    /**
+     * Load the claims put into tokens and userinfo responses, cached across requests
+     *
+     * @param email User email
+     * @return User claims
+     * @throws ResourceNotFoundException when no user found
+     */
+    public UserClaims loadUserClaims(String email) {
+        return findUserClaims(email)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+
+    public Optional<UserClaims> findUserClaims(String email) {
+        return userClaimsCache.find(email, userRepository::findClaimsByEmail);
+    }
+
     public UserInfo getUserById(String userId) {
         log.debug("Retrieving user by ID: {}", userId);
         return userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "ID", userId));
     }
 
+    @Transactional(readOnly = true)
+    public UserResponse getUserProfile(String userId) {
+        log.debug("Retrieving user profile by ID: {}", userId);
+        return UserResponse.from(userRepository.findProfileById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "ID", userId)));
+    }
+
+    public UserClaims getUserClaimsById(String userId) {
+        return userRepository.findClaimsById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "ID", userId));
+    }
+
+    @Transactional(readOnly = true)
     public List<UserResponse> getUsersByIds(List<String> userIds) {
         log.debug("Retrieving users by IDs: {}", userIds);
         if (userIds == null || userIds.isEmpty()) {
             return new ArrayList<>();
         }
-        List<UserInfo> users = userRepository.findAllById(userIds);
-        return users.stream()
+        return userRepository.findProfilesByIds(userIds).stream()
             .map(UserResponse::from)
             .collect(Collectors.toList());
     }
@@ -258,13 +296,8 @@ public class UserService {
     public void confirmPasswordReset(String resetToken, String newPassword) throws InvalidVerificationCodeException {
         log.debug("Confirming password reset with token");
 
-        // Extract user ID from token or maintain token-userId mapping
-        String userId = verificationCodeService.getUserIdFromToken(resetToken);
-
-        if (!verificationCodeService.verifyCode(userId, resetToken)) {
-            log.warn("Invalid or expired password reset token");
-            throw new InvalidVerificationCodeException("Invalid or expired password reset token");
-        }
+        // User ID is encoded in the token; the token is validated and invalidated in one step
+        String userId = verificationCodeService.consumePasswordResetToken(resetToken);
 
         UserInfo user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -272,9 +305,6 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
 
-        // Invalidate the reset token
-        verificationCodeService.invalidateCode(userId);
-
         log.info("Successfully reset password for user ID: {}", userId);
     }
 
@@ -313,6 +343,38 @@ public class UserService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "criteria", ""));
     }
 
+    /**
+     * Search users by email or name substring, most relevant first, a page at a time using an
+     * opaque keyset cursor
+     *
+     * @param query  Search text, at least three characters
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size   Page size
+     */
+    public UserSearchPage searchUsers(String query, String cursor, int size) {
+        KeysetCursor<Float> after = KeysetCursor.decode(cursor, KeysetCursor::finiteFloat);
+
+        // One extra row tells whether another page exists
+        List<UserSearchRepository.Hit> hits = after == null
+            ? userSearchRepository.search(query, null, null, size + 1)
+            : userSearchRepository.search(query, after.value(), after.id(), size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserSearchRepository.Hit last = hits.get(hits.size() - 1);
+            nextCursor = KeysetCursor.encode(last.score(), last.profile().getId());
+        }
+
+        return UserSearchPage.builder()
+            .content(hits.stream().map(hit -> UserResponse.from(hit.profile())).toList())
+            .nextCursor(nextCursor)
+            .build();
+    }
+
 	/**
 	 * Activate or deactivate a user
 	 * @param userId The user ID
@@ -3,23 +3,22 @@ package com.ginkgooai.core.identity.service;
 import com.ginkgooai.core.identity.domain.TokenIdentity;
 import com.ginkgooai.core.identity.exception.InvalidVerificationCodeException;
 import com.ginkgooai.core.identity.exception.TokenRequestTooFrequentException;
+import com.ginkgooai.core.identity.util.CryptoUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Base64;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class VerificationCodeService {
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private static final String VERIFICATION_CODE_PREFIX = "verification:code:";
     private static final String PASSWORD_RESET_PREFIX = "verification:password-reset:";
     private static final String COOLDOWN_PREFIX = "verification:cooldown:";
@@ -27,7 +26,55 @@ public class VerificationCodeService {
     private static final long CODE_EXPIRATION_SECONDS = 300; // 5 minutes for email verification
     private static final long PASSWORD_RESET_EXPIRATION_SECONDS = 900; // 15 minutes for password reset
     private static final long COOLDOWN_SECONDS = 60;
-    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * Store a credential unless its cooldown is running, starting the cooldown with it.
+     * KEYS: cooldown, credential; ARGV: credential value, credential TTL, cooldown TTL (seconds).
+     * Returns 1 if stored, 0 if still cooling down.
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('set', KEYS[1], '1', 'NX', 'EX', ARGV[3]) then
+                redis.call('set', KEYS[2], ARGV[1], 'EX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * Delete a credential and its cooldown if it holds the expected value, so of concurrent
+     * verifications of one credential only one succeeds.
+     * KEYS: credential, cooldown; ARGV: expected value. Returns 1 if consumed, 0 otherwise.
+     */
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                redis.call('del', KEYS[1], KEYS[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * {@link #CONSUME_SCRIPT} over a verification code, falling back to a password reset token
+     * only when no code is pending.
+     * KEYS: code, code cooldown, reset token, reset cooldown; ARGV: code, hashed code.
+     */
+    private static final RedisScript<Long> CONSUME_CODE_OR_RESET_TOKEN_SCRIPT = new DefaultRedisScript<>("""
+            local stored = redis.call('get', KEYS[1])
+            if stored then
+                if stored == ARGV[1] then
+                    redis.call('del', KEYS[1], KEYS[2])
+                    return 1
+                end
+                return 0
+            end
+            if redis.call('get', KEYS[3]) == ARGV[2] then
+                redis.call('del', KEYS[3], KEYS[4])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
 
     /**
      * Generate a URL token for email verification
@@ -40,22 +87,17 @@ public class VerificationCodeService {
     public String generateEmailVerificationToken(String clientId, String userId) {
         String cooldownKey = COOLDOWN_PREFIX + clientId + ":" + userId;
 
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(cooldownKey))) {
-            throw new TokenRequestTooFrequentException("Please wait before requesting a new verification link");
-        }
-
         // Generate token with embedded userId for efficient verification
-        byte[] tokenBytes = new byte[32];
-        SECURE_RANDOM.nextBytes(tokenBytes);
-        String tokenData = clientId + ":" + userId + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        String tokenData = clientId + ":" + userId + ":" + CryptoUtils.randomToken(32);
         String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenData.getBytes(StandardCharsets.UTF_8));
 
         // Store token hash with expiration
         String hashedToken = hashCode(token);
         String tokenKey = EMAIL_VERIFICATION_TOKEN_PREFIX + clientId + ":" + userId;
 
-        redisTemplate.opsForValue().set(tokenKey, hashedToken, CODE_EXPIRATION_SECONDS, TimeUnit.SECONDS);
-        redisTemplate.opsForValue().set(cooldownKey, "1", COOLDOWN_SECONDS, TimeUnit.SECONDS);
+        if (!issue(cooldownKey, tokenKey, hashedToken, CODE_EXPIRATION_SECONDS)) {
+            throw new TokenRequestTooFrequentException("Please wait before requesting a new verification link");
+        }
 
         return token;
     }
@@ -73,15 +115,12 @@ public class VerificationCodeService {
             // Decode token and extract userId
             TokenIdentity tokenFix = new TokenIdentity(token); 
             String tokenKey = EMAIL_VERIFICATION_TOKEN_PREFIX + tokenFix;
+            String cooldownKey = COOLDOWN_PREFIX + tokenFix;
 
-            // Validate token hash
-            String storedHash = redisTemplate.opsForValue().get(tokenKey);
-            if (storedHash == null || !storedHash.equals(hashCode(token))) {
+            // Validate the token hash and invalidate the token in one step
+            if (!consume(tokenKey, cooldownKey, hashCode(token))) {
                 throw new InvalidVerificationCodeException("Invalid or expired token");
             }
-
-            // Invalidate token after successful verification
-            invalidateEmailVerificationToken(tokenFix);
             return tokenFix;
         } catch (IllegalArgumentException e) {
             log.warn("Failed to decode verification token", e);
@@ -97,8 +136,7 @@ public class VerificationCodeService {
     public void invalidateEmailVerificationToken(TokenIdentity tokenIdentity) {
         String tokenKey = EMAIL_VERIFICATION_TOKEN_PREFIX + tokenIdentity;
         String cooldownKey = COOLDOWN_PREFIX + tokenIdentity;
-        redisTemplate.delete(tokenKey);
-        redisTemplate.delete(cooldownKey);
+        redisTemplate.delete(List.of(tokenKey, cooldownKey));
     }
 
     /**
@@ -111,19 +149,14 @@ public class VerificationCodeService {
     public String generateCode(String userId) {
         String cooldownKey = COOLDOWN_PREFIX + userId;
 
-        // Check cooldown period
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(cooldownKey))) {
-            throw new TokenRequestTooFrequentException("Please wait before requesting a new code");
-        }
-
         // Generate 6-digit code
-        String code = String.format("%06d", new SecureRandom().nextInt(1000000));
+        String code = CryptoUtils.randomDigits(6);
         String codeKey = VERIFICATION_CODE_PREFIX + userId;
 
-        // Store code with expiration
-        redisTemplate.opsForValue().set(codeKey, code, CODE_EXPIRATION_SECONDS, TimeUnit.SECONDS);
-        // Set cooldown
-        redisTemplate.opsForValue().set(cooldownKey, "1", COOLDOWN_SECONDS, TimeUnit.SECONDS);
+        // Store code with expiration unless the cooldown period is running
+        if (!issue(cooldownKey, codeKey, code, CODE_EXPIRATION_SECONDS)) {
+            throw new TokenRequestTooFrequentException("Please wait before requesting a new code");
+        }
 
         log.debug("Generated verification code for user: {}", userId);
         return code;
@@ -138,31 +171,12 @@ public class VerificationCodeService {
      * @return true if code/token is valid, false otherwise
      */
     public boolean verifyCode(String userId, String code) {
-        // Try verification code first
-        String codeKey = VERIFICATION_CODE_PREFIX + userId;
-        String storedCode = redisTemplate.opsForValue().get(codeKey);
-
-        if (storedCode != null) {
-            boolean isValid = storedCode.equals(code);
-            if (isValid) {
-                invalidateCode(userId);
-            }
-            return isValid;
-        }
-
-        // Try password reset token
-        String tokenKey = PASSWORD_RESET_PREFIX + userId;
-        String storedHash = redisTemplate.opsForValue().get(tokenKey);
-
-        if (storedHash != null) {
-            boolean isValid = storedHash.equals(hashCode(code));
-            if (isValid) {
-                invalidatePasswordResetToken(userId);
-            }
-            return isValid;
-        }
-
-        return false;
+        // Verification code first, then password reset token; a valid one is consumed
+        Long verified = redisTemplate.execute(CONSUME_CODE_OR_RESET_TOKEN_SCRIPT,
+                List.of(VERIFICATION_CODE_PREFIX + userId, COOLDOWN_PREFIX + userId,
+                        PASSWORD_RESET_PREFIX + userId, COOLDOWN_PREFIX + "pwd:" + userId),
+                code, hashCode(code));
+        return Long.valueOf(1).equals(verified);
     }
 
     /**
@@ -175,38 +189,30 @@ public class VerificationCodeService {
     public String generatePasswordResetToken(String userId) {
         String cooldownKey = COOLDOWN_PREFIX + "pwd:" + userId;
 
-        // Check cooldown period
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(cooldownKey))) {
-            throw new TokenRequestTooFrequentException("Please wait before requesting another password reset");
-        }
-
-        // Generate secure random bytes
-        byte[] tokenBytes = new byte[32];
-        SECURE_RANDOM.nextBytes(tokenBytes);
-
         // Encode userId within the token for efficient retrieval
-        String tokenData = userId + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        String tokenData = userId + ":" + CryptoUtils.randomToken(32);
         String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenData.getBytes(StandardCharsets.UTF_8));
 
         // Store hashed token with expiration
         String hashedToken = hashCode(token);
         String tokenKey = PASSWORD_RESET_PREFIX + userId;
 
-        redisTemplate.opsForValue().set(tokenKey, hashedToken, PASSWORD_RESET_EXPIRATION_SECONDS, TimeUnit.SECONDS);
-        redisTemplate.opsForValue().set(cooldownKey, "1", COOLDOWN_SECONDS, TimeUnit.SECONDS);
+        if (!issue(cooldownKey, tokenKey, hashedToken, PASSWORD_RESET_EXPIRATION_SECONDS)) {
+            throw new TokenRequestTooFrequentException("Please wait before requesting another password reset");
+        }
 
         return token;
     }
 
     /**
-     * Extracts and validates userId from the password reset token
+     * Extracts the userId from the password reset token, validates the token and invalidates it
      * Performs O(1) lookup using encoded userId instead of scanning all keys
      *
      * @param token The password reset token
      * @return Associated user ID
-     * @throws InvalidVerificationCodeException if token is invalid or expired
+     * @throws InvalidVerificationCodeException if token is invalid, expired or already used
      */
-    public String getUserIdFromToken(String token) throws InvalidVerificationCodeException {
+    public String consumePasswordResetToken(String token) throws InvalidVerificationCodeException {
         try {
             // Decode token and extract userId
             String tokenData = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
@@ -217,10 +223,10 @@ public class VerificationCodeService {
 
             String userId = parts[0];
             String tokenKey = PASSWORD_RESET_PREFIX + userId;
+            String cooldownKey = COOLDOWN_PREFIX + "pwd:" + userId;
 
-            // Validate token hash
-            String storedHash = redisTemplate.opsForValue().get(tokenKey);
-            if (storedHash == null || !storedHash.equals(hashCode(token))) {
+            // Validate the token hash and invalidate the token in one step
+            if (!consume(tokenKey, cooldownKey, hashCode(token))) {
                 throw new InvalidVerificationCodeException("Invalid or expired token");
             }
 
@@ -239,8 +245,7 @@ public class VerificationCodeService {
     public void invalidateCode(String userId) {
         String codeKey = VERIFICATION_CODE_PREFIX + userId;
         String cooldownKey = COOLDOWN_PREFIX + userId;
-        redisTemplate.delete(codeKey);
-        redisTemplate.delete(cooldownKey);
+        redisTemplate.delete(List.of(codeKey, cooldownKey));
     }
 
     /**
@@ -251,8 +256,28 @@ public class VerificationCodeService {
     public void invalidatePasswordResetToken(String userId) {
         String tokenKey = PASSWORD_RESET_PREFIX + userId;
         String cooldownKey = COOLDOWN_PREFIX + "pwd:" + userId;
-        redisTemplate.delete(tokenKey);
-        redisTemplate.delete(cooldownKey);
+        redisTemplate.delete(List.of(tokenKey, cooldownKey));
+    }
+
+    /**
+     * Store a credential and start its cooldown in one atomic step
+     *
+     * @return false if the cooldown period is still running
+     */
+    private boolean issue(String cooldownKey, String credentialKey, String value, long ttlSeconds) {
+        Long issued = redisTemplate.execute(ISSUE_SCRIPT, List.of(cooldownKey, credentialKey),
+                value, String.valueOf(ttlSeconds), String.valueOf(COOLDOWN_SECONDS));
+        return Long.valueOf(1).equals(issued);
+    }
+
+    /**
+     * Delete a credential and its cooldown if it holds the expected value
+     *
+     * @return false if the credential is missing, expired or holds another value
+     */
+    private boolean consume(String credentialKey, String cooldownKey, String expected) {
+        Long consumed = redisTemplate.execute(CONSUME_SCRIPT, List.of(credentialKey, cooldownKey), expected);
+        return Long.valueOf(1).equals(consumed);
     }
 
     /**
@@ -262,12 +287,6 @@ public class VerificationCodeService {
      * @return Base64 encoded hash
      */
     private String hashCode(String code) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(code.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to hash token", e);
-        }
+        return CryptoUtils.sha256Base64(code);
     }
 }
\ No newline at end of file
@@ -0,0 +1,373 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ginkgooai.core.identity.config.properties.AuthorizationCacheProperties;
+import com.ginkgooai.core.identity.util.OAuth2AuthorizationUtils;
+import com.ginkgooai.core.identity.util.TokenDigestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache in front of the oauth2_authorization table.
+ * <p>
+ * Authorizations are cached by id in a bounded in-process tier backed by a shared Redis tier.
+ * Token lookups only cache a pointer from the token digest to the authorization id; the
+ * resolved authorization is always checked against the presented token, so pointers left
+ * behind by token rotation or removal never need to be invalidated. Writes evict the id from
+ * both tiers and broadcast the ids so every node drops its in-process copy.
+ * <p>
+ * An eviction also leaves a marker holding a fresh random value next to the Redis entry. A
+ * read-through notes the marker before loading from the database and only writes the loaded
+ * authorization back if the marker is unchanged, so a lookup that raced an eviction cannot
+ * put the revoked or replaced authorization back into Redis.
+ */
+@Slf4j
+@Component
+public class AuthorizationCache {
+
+    private static final String ID_KEY = "id:";
+    private static final String TOKEN_KEY = "token:";
+    private static final String EVICTED_KEY = "evicted:";
+
+    /**
+     * Delete entries and replace their eviction markers.
+     * KEYS: entry and marker pairs; ARGV: marker value, marker TTL in milliseconds.
+     */
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #KEYS, 2 do
+                redis.call('del', KEYS[i])
+                redis.call('set', KEYS[i + 1], ARGV[1], 'PX', ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * Write an entry unless its eviction marker changed since the caller read it.
+     * KEYS: entry, marker; ARGV: marker value read (empty if none), entry, TTL in milliseconds.
+     * Returns 1 if written, 0 if an eviction intervened.
+     */
+    private static final RedisScript<Long> WRITE_IF_NOT_EVICTED_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[2]) or '') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final AuthorizationCacheProperties properties;
+    private final RedisTemplate<String, OAuth2Authorization> authorizationRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, OAuth2Authorization> authorizationsById;
+    private final Cache<String, String> authorizationIdsByToken;
+
+    public AuthorizationCache(
+            AuthorizationCacheProperties properties,
+            RedisTemplate<String, OAuth2Authorization> authorizationRedisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("cacheInvalidationListenerContainer") RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.authorizationRedisTemplate = authorizationRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+        this.authorizationsById = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTimeToLive())
+                .recordStats()
+                .build();
+        this.authorizationIdsByToken = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, authorizationsById, "oauth2.authorization.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, authorizationIdsByToken, "oauth2.authorization.by-token");
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(properties.getInvalidationChannel()));
+    }
+
+    /**
+     * Look an authorization up in the in-process tier only
+     *
+     * @param id Authorization id
+     * @return The cached authorization, or null
+     */
+    public OAuth2Authorization findLocal(String id) {
+        return properties.isEnabled() ? authorizationsById.getIfPresent(id) : null;
+    }
+
+    /**
+     * Look a token up in the in-process tier only
+     *
+     * @param token     Raw token value
+     * @param tokenType Token type, or null to match any token
+     * @return The cached authorization holding the token, or null
+     */
+    public OAuth2Authorization findLocalByToken(String token, OAuth2TokenType tokenType) {
+        if (!properties.isEnabled() || !isCacheable(tokenType)) {
+            return null;
+        }
+
+        String authorizationId = authorizationIdsByToken.getIfPresent(TokenDigestUtils.sha256Hex(token));
+        OAuth2Authorization authorization = authorizationId == null ? null : authorizationsById.getIfPresent(authorizationId);
+        return authorization != null && OAuth2AuthorizationUtils.hasToken(authorization, token, tokenType)
+                ? authorization : null;
+    }
+
+    /**
+     * Resolve an authorization by id through the local tier, then Redis, then the loader
+     *
+     * @param id     Authorization id
+     * @param loader Database lookup used on a miss in both tiers
+     * @return The authorization, or null if the loader found none
+     */
+    public OAuth2Authorization findById(String id, Function<String, OAuth2Authorization> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(id);
+        }
+
+        OAuth2Authorization authorization = authorizationsById.getIfPresent(id);
+        if (authorization != null) {
+            return authorization;
+        }
+
+        authorization = readRedis(ID_KEY + id);
+        if (authorization == null) {
+            // Noted before the load, so an eviction racing it is detected on write-back
+            String marker = readEvictionMarker(id);
+            authorization = loader.apply(id);
+            if (authorization == null) {
+                return null;
+            }
+            if (marker != null) {
+                writeRedis(authorization, marker);
+            }
+        }
+
+        authorizationsById.put(id, authorization);
+        return authorization;
+    }
+
+    /**
+     * Resolve an authorization by token value. Only access token, refresh token and untyped
+     * (introspection / revocation) lookups are cached; one-shot artifacts such as state and
+     * authorization codes go straight to the loader.
+     *
+     * @param token      Raw token value
+     * @param tokenType  Token type, or null to match any token
+     * @param idLoader   Database lookup by id
+     * @param tokenLoader Database lookup by token
+     * @return The authorization holding the token, or null
+     */
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType,
+                                           Function<String, OAuth2Authorization> idLoader,
+                                           BiFunction<String, OAuth2TokenType, OAuth2Authorization> tokenLoader) {
+        if (!properties.isEnabled() || !isCacheable(tokenType)) {
+            return tokenLoader.apply(token, tokenType);
+        }
+
+        String tokenDigest = TokenDigestUtils.sha256Hex(token);
+        String authorizationId = authorizationIdsByToken.getIfPresent(tokenDigest);
+        if (authorizationId == null) {
+            authorizationId = readRedisPointer(tokenDigest);
+        }
+
+        if (authorizationId != null) {
+            OAuth2Authorization authorization = findById(authorizationId, idLoader);
+            if (authorization != null && OAuth2AuthorizationUtils.hasToken(authorization, token, tokenType)) {
+                authorizationIdsByToken.put(tokenDigest, authorizationId);
+                return authorization;
+            }
+            // Pointer outlived a rotated or removed token
+            authorizationIdsByToken.invalidate(tokenDigest);
+        }
+
+        OAuth2Authorization authorization = tokenLoader.apply(token, tokenType);
+        if (authorization != null) {
+            authorizationIdsByToken.put(tokenDigest, authorization.getId());
+            authorizationsById.put(authorization.getId(), authorization);
+            // The id was unknown before the load, so no eviction marker could be noted; the
+            // authorization itself reaches Redis through the next lookup by id
+            writeRedisPointer(tokenDigest, authorization);
+        }
+        return authorization;
+    }
+
+    /**
+     * Evict an authorization from both tiers on this node and broadcast the eviction
+     *
+     * @param id Authorization id
+     */
+    public void evict(String id) {
+        evictAll(List.of(id));
+    }
+
+    /**
+     * Evict authorizations from both tiers on this node and broadcast the eviction in a single
+     * message. Inside a transaction the eviction is repeated after commit, so a concurrent
+     * reader cannot re-populate the cache with rows the transaction is about to change.
+     *
+     * @param ids Authorization ids
+     */
+    public void evictAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = List.copyOf(ids);
+        CacheInvalidator.nowAndAfterCommit(() -> evictNow(pending));
+    }
+
+    private void evictNow(Collection<String> ids) {
+        authorizationsById.invalidateAll(ids);
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(ids.size() * 2);
+        for (String id : ids) {
+            keys.add(redisKey(ID_KEY + id));
+            keys.add(redisKey(EVICTED_KEY + id));
+        }
+        try {
+            stringRedisTemplate.execute(EVICT_SCRIPT, keys, UUID.randomUUID().toString(),
+                    String.valueOf(properties.getRedisTimeToLive().toMillis()));
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), String.join(",", ids));
+        } catch (RuntimeException e) {
+            log.warn("Failed to propagate eviction of {} authorizations", ids.size(), e);
+        }
+    }
+
+    private void onInvalidation(Message message, byte[] pattern) {
+        String ids = new String(message.getBody(), StandardCharsets.UTF_8);
+        authorizationsById.invalidateAll(StringUtils.commaDelimitedListToSet(ids));
+    }
+
+    private OAuth2Authorization readRedis(String key) {
+        try {
+            return authorizationRedisTemplate.opsForValue().get(redisKey(key));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read authorization cache entry {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return Eviction marker of the authorization, empty if it was never evicted, or null if
+     * Redis could not be read, in which case the entry must not be written back
+     */
+    private String readEvictionMarker(String id) {
+        try {
+            String marker = stringRedisTemplate.opsForValue().get(redisKey(EVICTED_KEY + id));
+            return marker == null ? "" : marker;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read authorization eviction marker {}", id, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeRedis(OAuth2Authorization authorization, String marker) {
+        Duration ttl = timeToLive(authorization);
+        if (ttl.isZero()) {
+            return;
+        }
+
+        String id = authorization.getId();
+        try {
+            byte[] value = ((RedisSerializer<OAuth2Authorization>) authorizationRedisTemplate.getValueSerializer())
+                    .serialize(authorization);
+            Long written = authorizationRedisTemplate.execute(WRITE_IF_NOT_EVICTED_SCRIPT, RedisSerializer.byteArray(),
+                    RESULT_SERIALIZER, List.of(redisKey(ID_KEY + id), redisKey(EVICTED_KEY + id)),
+                    marker.getBytes(StandardCharsets.UTF_8), value,
+                    String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8));
+            if (!Long.valueOf(1).equals(written)) {
+                log.debug("Skipped caching authorization {} evicted during its lookup", id);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write authorization cache entry {}", id, e);
+        }
+    }
+
+    private String readRedisPointer(String tokenDigest) {
+        try {
+            return stringRedisTemplate.opsForValue().get(redisKey(TOKEN_KEY + tokenDigest));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read authorization token pointer", e);
+            return null;
+        }
+    }
+
+    private void writeRedisPointer(String tokenDigest, OAuth2Authorization authorization) {
+        Duration ttl = timeToLive(authorization);
+        if (ttl.isZero()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(redisKey(TOKEN_KEY + tokenDigest), authorization.getId(), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write authorization token pointer", e);
+        }
+    }
+
+    private String redisKey(String key) {
+        return properties.getRedisKeyPrefix() + key;
+    }
+
+    /**
+     * Redis entries never outlive the longest-lived token of the authorization
+     */
+    private Duration timeToLive(OAuth2Authorization authorization) {
+        Instant now = Instant.now();
+        Instant latestExpiry = OAuth2AuthorizationUtils.latestExpiry(authorization).orElse(now);
+
+        Duration untilExpiry = Duration.between(now, latestExpiry);
+        if (untilExpiry.isNegative() || untilExpiry.isZero()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(properties.getRedisTimeToLive()) < 0 ? untilExpiry : properties.getRedisTimeToLive();
+    }
+
+    private static boolean isCacheable(OAuth2TokenType tokenType) {
+        return tokenType == null
+                || OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)
+                || OAuth2TokenType.REFRESH_TOKEN.equals(tokenType);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide eviction for an in-process cache.
+ * <p>
+ * A key is evicted on this node and published on a Redis channel, on which every node evicts
+ * it from its own copy. Inside a transaction the eviction is repeated after commit, so a
+ * concurrent reader cannot re-populate the cache with the row the transaction is about to
+ * change.
+ */
+@Slf4j
+public class CacheInvalidator {
+
+    private final String cacheName;
+    private final String channel;
+    private final boolean broadcast;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Consumer<String> localEviction;
+
+    /**
+     * @param cacheName     Name used in log messages
+     * @param channel       Redis channel carrying evicted keys
+     * @param broadcast     Whether evictions are published; false while the cache is disabled
+     * @param localEviction Evicts a key from this node's copy
+     */
+    public CacheInvalidator(String cacheName, String channel, boolean broadcast,
+                            StringRedisTemplate stringRedisTemplate, RedisMessageListenerContainer listenerContainer,
+                            Consumer<String> localEviction) {
+        this.cacheName = cacheName;
+        this.channel = channel;
+        this.broadcast = broadcast;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localEviction = localEviction;
+        listenerContainer.addMessageListener(
+                (message, pattern) -> localEviction.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    /**
+     * Evict a key on every node, repeated after commit inside a transaction
+     *
+     * @param key Cache key; ignored if null
+     */
+    public void evict(String key) {
+        if (key != null) {
+            nowAndAfterCommit(() -> evictNow(key));
+        }
+    }
+
+    /**
+     * Run an eviction now and, inside a transaction, once more after commit
+     *
+     * @param eviction Eviction to run
+     */
+    public static void nowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void evictNow(String key) {
+        localEviction.accept(key);
+        if (!broadcast) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.convertAndSend(channel, key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to propagate {} eviction", cacheName, e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import com.ginkgooai.core.identity.domain.UserInfo;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener evicting cached claims, login details and bulk lookup responses whenever a
+ * user row is written, whichever service or handler wrote it. Instantiated by Hibernate
+ * through the Spring bean container.
+ */
+public class UserCacheInvalidationListener {
+
+    private final UserClaimsCache userClaimsCache;
+    private final UserDetailsCache userDetailsCache;
+    private final UserResponseCache userResponseCache;
+
+    public UserCacheInvalidationListener(UserClaimsCache userClaimsCache, UserDetailsCache userDetailsCache,
+                                         UserResponseCache userResponseCache) {
+        this.userClaimsCache = userClaimsCache;
+        this.userDetailsCache = userDetailsCache;
+        this.userResponseCache = userResponseCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(UserInfo user) {
+        userClaimsCache.evict(user.getEmail());
+        userDetailsCache.evict(user.getEmail());
+        userResponseCache.evict(user.getId(), user.getEmail());
+    }
+}
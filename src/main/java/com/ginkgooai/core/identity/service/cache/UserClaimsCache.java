@@ -0,0 +1,105 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ginkgooai.core.identity.config.properties.UserClaimsCacheProperties;
+import com.ginkgooai.core.identity.dto.UserClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache of the claims projection used when minting tokens and answering userinfo requests.
+ * <p>
+ * Lookups are memoized on the current request, so the ID token and access token issued by
+ * one token request share a single lookup, and cached in-process by email across requests.
+ * User writes evict the email on this node and broadcast it so every node drops its copy.
+ */
+@Component
+public class UserClaimsCache {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = UserClaimsCache.class.getName() + ".";
+
+    private final UserClaimsCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, UserClaims> claimsByEmail;
+    private final CacheInvalidator invalidator;
+
+    public UserClaimsCache(
+            UserClaimsCacheProperties properties,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("cacheInvalidationListenerContainer") RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.claimsByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.invalidator = new CacheInvalidator("user claims", properties.getInvalidationChannel(),
+                properties.isEnabled(), stringRedisTemplate, listenerContainer, this::evictLocal);
+    }
+
+    @PostConstruct
+    public void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsByEmail, "user.claims");
+    }
+
+    /**
+     * Resolve the claims of a user through the request memo, then the cache, then the loader
+     *
+     * @param email  User email
+     * @param loader Database lookup used on a miss
+     * @return The claims, or empty if the loader found no user
+     */
+    public Optional<UserClaims> find(String email, Function<String, Optional<UserClaims>> loader) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + email;
+        if (request != null && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST) instanceof UserClaims memo) {
+            return Optional.of(memo);
+        }
+
+        Optional<UserClaims> claims = properties.isEnabled()
+                ? Optional.ofNullable(claimsByEmail.getIfPresent(email))
+                : Optional.empty();
+        if (claims.isEmpty()) {
+            claims = loader.apply(email);
+            if (properties.isEnabled()) {
+                claims.ifPresent(found -> claimsByEmail.put(email, found));
+            }
+        }
+
+        if (request != null) {
+            claims.ifPresent(found -> request.setAttribute(attribute, found, RequestAttributes.SCOPE_REQUEST));
+        }
+        return claims;
+    }
+
+    /**
+     * Evict a user on every node, repeated after commit inside a transaction
+     *
+     * @param email User email
+     */
+    public void evict(String email) {
+        invalidator.evict(email);
+    }
+
+    private void evictLocal(String email) {
+        claimsByEmail.invalidate(email);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + email, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
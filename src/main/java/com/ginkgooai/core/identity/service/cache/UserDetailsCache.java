@@ -0,0 +1,81 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ginkgooai.core.identity.config.properties.UserDetailsCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * In-process cache of the {@link UserDetails} used by form login and remember-me.
+ * <p>
+ * Callers always receive a copy: the authentication manager erases credentials on the
+ * instance it authenticated, which must not blank the password of the cached entry. User
+ * writes evict the email on this node and broadcast it so every node drops its copy.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, UserDetails> detailsByEmail;
+    private final CacheInvalidator invalidator;
+
+    public UserDetailsCache(
+            UserDetailsCacheProperties properties,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("cacheInvalidationListenerContainer") RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.detailsByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.invalidator = new CacheInvalidator("user details", properties.getInvalidationChannel(),
+                properties.isEnabled(), stringRedisTemplate, listenerContainer, detailsByEmail::invalidate);
+    }
+
+    @PostConstruct
+    public void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, detailsByEmail, "user.details");
+    }
+
+    /**
+     * @param email  Username
+     * @param loader Database lookup used on a miss; may throw to signal an unknown user
+     * @return A copy of the cached details
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(email);
+        }
+
+        UserDetails details = detailsByEmail.getIfPresent(email);
+        if (details == null) {
+            details = loader.apply(email);
+            detailsByEmail.put(email, details);
+        }
+        return User.withUserDetails(details).build();
+    }
+
+    /**
+     * Evict a user on every node, repeated after commit inside a transaction
+     *
+     * @param email Username
+     */
+    public void evict(String email) {
+        invalidator.evict(email);
+    }
+}
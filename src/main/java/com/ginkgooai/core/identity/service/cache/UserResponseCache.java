@@ -0,0 +1,120 @@
+package com.ginkgooai.core.identity.service.cache;
+
+import com.ginkgooai.core.identity.config.properties.UserResponseCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared Redis cache of serialized user responses for bulk lookups, keyed by both id and
+ * email so either can be resolved with a single MGET. Values are stored as the JSON the
+ * endpoint returns and written to the response as is.
+ */
+@Slf4j
+@Component
+public class UserResponseCache {
+
+    private static final String ID_KEY = "id:";
+    private static final String EMAIL_KEY = "email:";
+
+    private final UserResponseCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public UserResponseCache(UserResponseCacheProperties properties, StringRedisTemplate stringRedisTemplate) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public String idKey(String id) {
+        return properties.getKeyPrefix() + ID_KEY + id;
+    }
+
+    public String emailKey(String email) {
+        return properties.getKeyPrefix() + EMAIL_KEY + email;
+    }
+
+    /**
+     * @param keys Keys built with {@link #idKey} or {@link #emailKey}
+     * @return Cached JSON per key, null for misses; all misses if Redis is unavailable
+     */
+    public List<String> getAll(List<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return Collections.nCopies(keys.size(), null);
+        }
+
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            return values != null ? values : Collections.nCopies(keys.size(), null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} cached user responses", keys.size(), e);
+            return Collections.nCopies(keys.size(), null);
+        }
+    }
+
+    /**
+     * Write entries in one pipelined round trip
+     *
+     * @param entries JSON by key
+     */
+    public void putAll(Map<String, String> entries) {
+        if (!properties.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+
+        Expiration expiration = Expiration.from(properties.getTimeToLive());
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands().set(
+                        key.getBytes(StandardCharsets.UTF_8),
+                        value.getBytes(StandardCharsets.UTF_8),
+                        expiration,
+                        RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to cache {} user responses", entries.size(), e);
+        }
+    }
+
+    /**
+     * Evict a user, repeated after commit inside a transaction
+     *
+     * @param id    User id, may be null for a user not yet persisted
+     * @param email User email
+     */
+    public void evict(String id, String email) {
+        List<String> keys = new ArrayList<>(2);
+        if (id != null) {
+            keys.add(idKey(id));
+        }
+        if (email != null) {
+            keys.add(emailKey(email));
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        CacheInvalidator.nowAndAfterCommit(() -> evictNow(keys));
+    }
+
+    private void evictNow(List<String> keys) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.delete(keys);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict cached user response", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ginkgooai.core.identity.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static java.security.DrbgParameters.Capability.RESEED_ONLY;
+
+/**
+ * Shared digests and random number generators.
+ * <p>
+ * Provider lookups cost more than hashing a short token, and a shared SecureRandom serializes
+ * its callers, so every thread keeps its own instances: one SHA-256 digest and one DRBG seeded
+ * from the platform entropy source. Instances never leave the thread that created them and
+ * are always reset before being returned.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CryptoUtils {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> SHA_256_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(CryptoUtils::newDrbg);
+
+    /**
+     * @return SHA-256 of the bytes
+     */
+    public static byte[] sha256(byte[] input) {
+        MessageDigest digest = SHA_256_DIGEST.get();
+        digest.reset();
+        return digest.digest(input);
+    }
+
+    /**
+     * @return Lower-case hex SHA-256 of the UTF-8 bytes of the value
+     */
+    public static String sha256Hex(String value) {
+        return HEX.formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return Base64 SHA-256 of the UTF-8 bytes of the value
+     */
+    public static String sha256Base64(String value) {
+        return Base64.getEncoder().encodeToString(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return Unpadded base64url SHA-256 of the US-ASCII bytes of the value, as used by PKCE
+     */
+    public static String sha256Base64Url(String value) {
+        return BASE64_URL.encodeToString(sha256(value.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * @return Random generator of the current thread; do not hand it to other threads
+     */
+    public static SecureRandom random() {
+        return RANDOM.get();
+    }
+
+    public static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.get().nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return Uniform random int in [0, bound)
+     */
+    public static int randomInt(int bound) {
+        return RANDOM.get().nextInt(bound);
+    }
+
+    /**
+     * @param length Number of random bytes
+     * @return Unpadded base64url encoding of the random bytes
+     */
+    public static String randomToken(int length) {
+        return BASE64_URL.encodeToString(randomBytes(length));
+    }
+
+    /**
+     * @param digits Number of decimal digits
+     * @return Random zero-padded numeric code
+     */
+    public static String randomDigits(int digits) {
+        StringBuilder code = new StringBuilder(digits);
+        SecureRandom random = RANDOM.get();
+        for (int i = 0; i < digits; i++) {
+            code.append((char) ('0' + random.nextInt(10)));
+        }
+        return code.toString();
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256, RESEED_ONLY, null));
+        } catch (GeneralSecurityException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ginkgooai.core.identity.util;
+
+import com.ginkgooai.core.identity.exception.ValidationException;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset pagination cursor: the sort value and id of the last row of a page, encoded as
+ * base64url {@code value|id}
+ *
+ * @param value Sort value of the last row
+ * @param id    Id of the last row, breaking ties on the sort value
+ */
+public record KeysetCursor<T>(T value, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * @return Cursor pointing after the row with this sort value and id
+     */
+    public static String encode(Object value, String id) {
+        String position = String.valueOf(value) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor      Cursor returned with the previous page
+     * @param valueParser Parses the sort value, throwing IllegalArgumentException or
+     *                    DateTimeException when it is malformed
+     * @return Decoded position, or null for the first page when the cursor is blank
+     * @throws ValidationException When the cursor is malformed
+     */
+    public static <T> KeysetCursor<T> decode(String cursor, Function<String, T> valueParser) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new KeysetCursor<>(valueParser.apply(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new ValidationException(Map.of("cursor", "Invalid cursor"));
+        }
+    }
+
+    /**
+     * Value parser for float scores; NaN and infinities are rejected as they break the keyset
+     * comparison
+     */
+    public static Float finiteFloat(String value) {
+        float parsed = Float.parseFloat(value);
+        if (!Float.isFinite(parsed)) {
+            throw new IllegalArgumentException("Non-finite cursor value: " + value);
+        }
+        return parsed;
+    }
+}
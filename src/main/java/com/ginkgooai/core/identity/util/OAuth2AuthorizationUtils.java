@@ -0,0 +1,79 @@
+package com.ginkgooai.core.identity.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for stores that keep authorizations outside the oauth2_authorization table
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OAuth2AuthorizationUtils {
+
+    public static final OAuth2TokenType STATE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.STATE);
+    public static final OAuth2TokenType AUTHORIZATION_CODE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.CODE);
+    public static final OAuth2TokenType ID_TOKEN_TOKEN_TYPE = new OAuth2TokenType(OidcParameterNames.ID_TOKEN);
+
+    /**
+     * Same matching rules as the framework's JDBC lookup: a typed lookup checks only that
+     * token, an untyped lookup checks every value the authorization holds
+     *
+     * @param authorization Candidate authorization
+     * @param token         Raw token value
+     * @param tokenType     Token type, or null to match any token
+     * @return Whether the authorization holds the token
+     */
+    public static boolean hasToken(OAuth2Authorization authorization, String token, OAuth2TokenType tokenType) {
+        if (tokenType == null) {
+            return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE))
+                    || matches(authorization.getToken(OAuth2AuthorizationCode.class), token)
+                    || matches(authorization.getToken(OAuth2AccessToken.class), token)
+                    || matches(authorization.getToken(OidcIdToken.class), token)
+                    || matches(authorization.getToken(OAuth2RefreshToken.class), token);
+        }
+        if (STATE_TOKEN_TYPE.equals(tokenType)) {
+            return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE));
+        }
+        if (AUTHORIZATION_CODE_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization.getToken(OAuth2AuthorizationCode.class), token);
+        }
+        if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            return matches(authorization.getToken(OAuth2AccessToken.class), token);
+        }
+        if (ID_TOKEN_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization.getToken(OidcIdToken.class), token);
+        }
+        if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            return matches(authorization.getToken(OAuth2RefreshToken.class), token);
+        }
+        return false;
+    }
+
+    /**
+     * @return Latest expiry among the authorization's tokens, empty if none of them expires
+     */
+    public static Optional<Instant> latestExpiry(OAuth2Authorization authorization) {
+        return Stream.of(OAuth2AccessToken.class, OAuth2RefreshToken.class,
+                        OAuth2AuthorizationCode.class, OidcIdToken.class)
+                .map(authorization::getToken)
+                .filter(token -> token != null && token.getToken().getExpiresAt() != null)
+                .map(token -> token.getToken().getExpiresAt())
+                .max(Instant::compareTo);
+    }
+
+    private static boolean matches(OAuth2Authorization.Token<? extends OAuth2Token> authorizationToken, String token) {
+        return authorizationToken != null && authorizationToken.getToken().getTokenValue().equals(token);
+    }
+}
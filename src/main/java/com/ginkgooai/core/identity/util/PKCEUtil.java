@@ -2,29 +2,14 @@ package com.ginkgooai.core.identity.util;
 
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
-
 @Component
 public class PKCEUtil {
     
     public String generateCodeVerifier() {
-        SecureRandom secureRandom = new SecureRandom();
-        byte[] codeVerifier = new byte[32];
-        secureRandom.nextBytes(codeVerifier);
-        return Base64.getUrlEncoder().withoutPadding()
-            .encodeToString(codeVerifier);
+        return CryptoUtils.randomToken(32);
     }
     
-    public String generateCodeChallenge(String codeVerifier) throws NoSuchAlgorithmException {
-        byte[] bytes = codeVerifier.getBytes(StandardCharsets.US_ASCII);
-        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-        messageDigest.update(bytes, 0, bytes.length);
-        byte[] digest = messageDigest.digest();
-        return Base64.getUrlEncoder().withoutPadding()
-            .encodeToString(digest);
+    public String generateCodeChallenge(String codeVerifier) {
+        return CryptoUtils.sha256Base64Url(codeVerifier);
     }
 }
@@ -0,0 +1,20 @@
+package com.ginkgooai.core.identity.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fixed-width digests of token values, used wherever a token has to act as a lookup key
+ * without storing or transmitting the raw value
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TokenDigestUtils {
+
+    /**
+     * @param tokenValue Raw token value
+     * @return Lower-case hex SHA-256 of the UTF-8 bytes of the token
+     */
+    public static String sha256Hex(String tokenValue) {
+        return CryptoUtils.sha256Hex(tokenValue);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ginkgooai.core.identity.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7).
+ * <p>
+ * The 48 most significant bits hold the Unix time in milliseconds and the following 12 bits a
+ * counter, so ids generated by one node sort in generation order, also as lowercase strings;
+ * the remaining 62 bits are random. New rows therefore append to the right edge of a primary
+ * key index instead of splitting pages across it. If the counter overflows within a
+ * millisecond the timestamp is advanced, as the RFC allows, rather than breaking the order.
+ */
+public final class UuidV7 {
+
+    /**
+     * Timestamp in milliseconds shifted left by 12, plus the counter, of the last id generated
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndCounter = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (timeAndCounter >>> 12) << 16 // unix_ts_ms
+                | 0x7000L // version
+                | (timeAndCounter & 0xFFFL); // counter
+        long leastSigBits = CryptoUtils.random().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L; // variant
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static String generateString() {
+        return generate().toString();
+    }
+}
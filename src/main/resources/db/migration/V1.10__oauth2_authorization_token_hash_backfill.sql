@@ -0,0 +1,36 @@
+-- V1.10__OAuth2_Authorization_Token_Hash_Backfill.sql
+-- Fills the token digests of rows written before the V1.5 trigger, committing every batch so
+-- only the rows of the current batch are locked. Rows already hashed are skipped, so the
+-- migration can be re-run after an interruption.
+
+DO
+$$
+DECLARE
+    last_id    VARCHAR(100) := '';
+    batch_last VARCHAR(100);
+BEGIN
+    LOOP
+        SELECT max(id)
+        INTO batch_last
+        FROM (SELECT id
+              FROM identity.oauth2_authorization
+              WHERE id > last_id
+              ORDER BY id
+              LIMIT 1000) batch;
+        EXIT WHEN batch_last IS NULL;
+
+        UPDATE identity.oauth2_authorization
+        SET authorization_code_hash = encode(sha256(convert_to(authorization_code_value, 'UTF8')), 'hex'),
+            access_token_hash       = encode(sha256(convert_to(access_token_value, 'UTF8')), 'hex'),
+            refresh_token_hash      = encode(sha256(convert_to(refresh_token_value, 'UTF8')), 'hex')
+        WHERE id > last_id
+          AND id <= batch_last
+          AND ((authorization_code_hash IS NULL AND authorization_code_value IS NOT NULL)
+            OR (access_token_hash IS NULL AND access_token_value IS NOT NULL)
+            OR (refresh_token_hash IS NULL AND refresh_token_value IS NOT NULL));
+
+        last_id := batch_last;
+        COMMIT;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,14 @@
+-- V1.11__OAuth2_Authorization_Token_Hash_Indexes.sql
+-- Unique indexes over the token digests added by V1.5, used by token lookups
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.uk_oauth2_authorization_code_hash;
+CREATE UNIQUE INDEX CONCURRENTLY uk_oauth2_authorization_code_hash
+    ON identity.oauth2_authorization (authorization_code_hash) WHERE authorization_code_hash IS NOT NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.uk_oauth2_authorization_access_token_hash;
+CREATE UNIQUE INDEX CONCURRENTLY uk_oauth2_authorization_access_token_hash
+    ON identity.oauth2_authorization (access_token_hash) WHERE access_token_hash IS NOT NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.uk_oauth2_authorization_refresh_token_hash;
+CREATE UNIQUE INDEX CONCURRENTLY uk_oauth2_authorization_refresh_token_hash
+    ON identity.oauth2_authorization (refresh_token_hash) WHERE refresh_token_hash IS NOT NULL;
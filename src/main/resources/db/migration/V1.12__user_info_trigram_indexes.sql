@@ -0,0 +1,12 @@
+-- V1.12__User_Info_Trigram_Indexes.sql
+-- Trigram GIN indexes for substring search over user emails and names. The expressions must
+-- match the ones used by UserSearchRepository exactly for the planner to use them.
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.idx_user_info_email_trgm;
+CREATE INDEX CONCURRENTLY idx_user_info_email_trgm
+    ON identity.user_info USING gin (lower(email) gin_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.idx_user_info_name_trgm;
+CREATE INDEX CONCURRENTLY idx_user_info_name_trgm
+    ON identity.user_info USING gin (lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' ||
+                                          coalesce(name, '')) gin_trgm_ops);
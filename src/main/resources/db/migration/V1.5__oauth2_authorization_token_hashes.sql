@@ -0,0 +1,34 @@
+-- V1.5__OAuth2_Authorization_Token_Hashes.sql
+-- Fixed-width SHA-256 digests of token values so token lookups can use a unique index
+-- instead of scanning the TEXT value columns. Existing rows are backfilled by V1.10 and the
+-- indexes built by V1.11, both outside this transaction.
+
+ALTER TABLE identity.oauth2_authorization
+    ADD COLUMN IF NOT EXISTS authorization_code_hash VARCHAR(64);
+
+ALTER TABLE identity.oauth2_authorization
+    ADD COLUMN IF NOT EXISTS access_token_hash VARCHAR(64);
+
+ALTER TABLE identity.oauth2_authorization
+    ADD COLUMN IF NOT EXISTS refresh_token_hash VARCHAR(64);
+
+-- Digests are kept in sync by the database, so every writer (including the framework's
+-- own INSERT / UPDATE statements) populates them on save
+CREATE OR REPLACE FUNCTION identity.oauth2_authorization_token_hashes()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.authorization_code_hash := encode(sha256(convert_to(NEW.authorization_code_value, 'UTF8')), 'hex');
+    NEW.access_token_hash := encode(sha256(convert_to(NEW.access_token_value, 'UTF8')), 'hex');
+    NEW.refresh_token_hash := encode(sha256(convert_to(NEW.refresh_token_value, 'UTF8')), 'hex');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_oauth2_authorization_token_hashes ON identity.oauth2_authorization;
+
+CREATE TRIGGER trg_oauth2_authorization_token_hashes
+    BEFORE INSERT OR UPDATE OF authorization_code_value, access_token_value, refresh_token_value
+    ON identity.oauth2_authorization
+    FOR EACH ROW
+EXECUTE FUNCTION identity.oauth2_authorization_token_hashes();
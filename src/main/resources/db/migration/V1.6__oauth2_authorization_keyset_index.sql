@@ -0,0 +1,7 @@
+-- V1.6__OAuth2_Authorization_Keyset_Index.sql
+-- Supports keyset pagination of the admin active-token listing on (access_token_issued_at, id)
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.idx_oauth2_authorization_access_token_issued_id;
+CREATE INDEX CONCURRENTLY idx_oauth2_authorization_access_token_issued_id
+    ON identity.oauth2_authorization (access_token_issued_at DESC, id DESC)
+    WHERE access_token_issued_at IS NOT NULL;
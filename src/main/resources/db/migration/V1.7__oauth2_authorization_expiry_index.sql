@@ -0,0 +1,10 @@
+-- V1.7__OAuth2_Authorization_Expiry_Index.sql
+-- Lets the housekeeping job find fully expired authorizations (every token past its expiry)
+-- without scanning the table. GREATEST ignores NULLs, so rows without any expiring artifact
+-- evaluate to NULL and are never selected.
+
+DROP INDEX CONCURRENTLY IF EXISTS identity.idx_oauth2_authorization_last_expires;
+CREATE INDEX CONCURRENTLY idx_oauth2_authorization_last_expires
+    ON identity.oauth2_authorization (GREATEST(authorization_code_expires_at, access_token_expires_at,
+                                               refresh_token_expires_at, oidc_id_token_expires_at,
+                                               user_code_expires_at, device_code_expires_at));
@@ -0,0 +1,16 @@
+-- V1.8__User_Info_Mfa_Flags.sql
+-- Denormalizes whether a user has an enabled default MFA method, and its type, onto user_info so
+-- the login pre-check reads a single row by the unique email index instead of the mfa_info rows.
+-- Maintained by MfaService whenever an MFA method is verified, deleted or made default.
+
+ALTER TABLE identity.user_info
+    ADD COLUMN IF NOT EXISTS mfa_enabled BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS default_mfa_type VARCHAR(20) CHECK (default_mfa_type IN ('NONE', 'TOTP', 'EMAIL', 'SMS'));
+
+UPDATE identity.user_info u
+SET mfa_enabled      = TRUE,
+    default_mfa_type = m.type
+FROM identity.mfa_info m
+WHERE m.user_id = u.id
+  AND m.is_default
+  AND m.status = 'ENABLED';
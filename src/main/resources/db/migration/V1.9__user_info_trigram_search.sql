@@ -0,0 +1,6 @@
+-- V1.9__User_Info_Trigram_Search.sql
+-- Trigram support for substring search over user emails and names; the GIN indexes themselves
+-- are built by V1.12.
+-- The extension is installed into the application schema, the only schema on its search_path.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA identity;
@@ -0,0 +1,201 @@
+package com.ginkgooai.core.identity.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.core.identity.config.properties.AuthorizationStoreProperties;
+import com.ginkgooai.core.identity.config.properties.JwtRevocationProperties;
+import com.ginkgooai.core.identity.service.CachedOAuth2AuthorizationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.JdbcRegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second when mapping a page of valid authorizations, before and after resolving
+ * registered clients per query. The baseline is the row mapper the listings used before: one
+ * client lookup per row and a new ObjectMapper for every token's metadata. It is compared with
+ * {@link CachedOAuth2AuthorizationService#findValidBefore}, which resolves each distinct client
+ * once per query and parses metadata with a shared reader.
+ * <p>
+ * Needs a PostgreSQL database migrated by the application, see {@link BenchmarkDatabase}.
+ * {@value #CLIENTS} clients and {@value #AUTHORIZATIONS} authorizations are seeded for the run
+ * and deleted when it ends.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AuthorizationMappingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationMappingBenchmark {
+
+    private static final int CLIENTS = 5;
+    private static final int AUTHORIZATIONS = 1000;
+    private static final int PAGE_SIZE = 100;
+    private static final String PREFIX = "benchmark-";
+
+    /**
+     * Columns, filter and order of CachedOAuth2AuthorizationService#findValidBefore for a first page
+     */
+    private static final String PAGE_SQL = """
+            SELECT id, registered_client_id, principal_name, authorization_grant_type,
+                   authorized_scopes, attributes, state, authorization_code_value,
+                   authorization_code_issued_at, authorization_code_expires_at,
+                   authorization_code_metadata, access_token_value,
+                   access_token_issued_at, access_token_expires_at,
+                   access_token_metadata, access_token_type,
+                   access_token_scopes, refresh_token_value,
+                   refresh_token_issued_at, refresh_token_expires_at,
+                   refresh_token_metadata
+            FROM oauth2_authorization
+            WHERE access_token_expires_at > ?
+            ORDER BY access_token_issued_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+    private RowMapper<OAuth2Authorization> perRowMapper;
+    private CachedOAuth2AuthorizationService authorizationService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        connection.setSchema("identity");
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+        JdbcRegisteredClientRepository clientRepository = new JdbcRegisteredClientRepository(jdbcTemplate);
+        JdbcOAuth2AuthorizationService jdbcAuthorizationService =
+                new JdbcOAuth2AuthorizationService(jdbcTemplate, clientRepository);
+        perRowMapper = (rs, rowNum) -> extractPerRow(rs, clientRepository);
+
+        // Neither the caches nor the Redis store are touched by a listing while it is disabled
+        AuthorizationStoreProperties storeProperties = new AuthorizationStoreProperties();
+        storeProperties.setEnabled(false);
+        authorizationService = new CachedOAuth2AuthorizationService(jdbcTemplate, jdbcTemplate, clientRepository,
+                null, null, storeProperties, new JwtRevocationProperties());
+
+        deleteSeed();
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int c = 0; c < CLIENTS; c++) {
+            RegisteredClient client = RegisteredClient.withId(PREFIX + UUID.randomUUID())
+                    .clientId(PREFIX + "client-" + c)
+                    .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                    .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                    .scope("read")
+                    .build();
+            clientRepository.save(client);
+            for (int a = c; a < AUTHORIZATIONS; a += CLIENTS) {
+                Instant tokenIssuedAt = issuedAt.minusMillis(a);
+                OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                        PREFIX + UUID.randomUUID(), tokenIssuedAt, tokenIssuedAt.plus(1, ChronoUnit.HOURS), Set.of("read"));
+                jdbcAuthorizationService.save(OAuth2Authorization.withRegisteredClient(client)
+                        .id(PREFIX + UUID.randomUUID())
+                        .principalName(PREFIX + "principal-" + a)
+                        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                        .authorizedScopes(Set.of("read"))
+                        .accessToken(accessToken)
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<OAuth2Authorization> clientPerRow() {
+        return jdbcTemplate.query(PAGE_SQL, perRowMapper, Timestamp.from(Instant.now()), PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<OAuth2Authorization> clientPerQuery() {
+        return authorizationService.findValidBefore(null, null, PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try {
+            deleteSeed();
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * The listing row mapper as it was before clients were resolved per query
+     */
+    private static OAuth2Authorization extractPerRow(ResultSet rs, RegisteredClientRepository clientRepository)
+            throws SQLException {
+        RegisteredClient registeredClient = clientRepository.findById(rs.getString("registered_client_id"));
+
+        OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(rs.getString("id"))
+                .principalName(rs.getString("principal_name"))
+                .authorizationGrantType(new AuthorizationGrantType(rs.getString("authorization_grant_type")))
+                .authorizedScopes(StringUtils.commaDelimitedListToSet(rs.getString("authorized_scopes")));
+
+        String accessTokenValue = rs.getString("access_token_value");
+        if (accessTokenValue != null) {
+            OAuth2AccessToken accessToken = new OAuth2AccessToken(
+                    OAuth2AccessToken.TokenType.BEARER,
+                    accessTokenValue,
+                    rs.getTimestamp("access_token_issued_at").toInstant(),
+                    rs.getTimestamp("access_token_expires_at").toInstant(),
+                    StringUtils.commaDelimitedListToSet(rs.getString("access_token_scopes")));
+            String accessTokenMetadata = rs.getString("access_token_metadata");
+            builder.token(accessToken, metadata -> parseWithNewMapper(accessTokenMetadata, metadata));
+        }
+
+        String refreshTokenValue = rs.getString("refresh_token_value");
+        if (refreshTokenValue != null) {
+            OAuth2RefreshToken refreshToken = new OAuth2RefreshToken(
+                    refreshTokenValue,
+                    rs.getTimestamp("refresh_token_issued_at").toInstant(),
+                    rs.getTimestamp("refresh_token_expires_at").toInstant());
+            String refreshTokenMetadata = rs.getString("refresh_token_metadata");
+            builder.token(refreshToken, metadata -> parseWithNewMapper(refreshTokenMetadata, metadata));
+        }
+
+        return builder.build();
+    }
+
+    private static void parseWithNewMapper(String metadataStr, Map<String, Object> metadata) {
+        if (StringUtils.hasText(metadataStr)) {
+            try {
+                metadata.putAll(new ObjectMapper().readValue(metadataStr, new TypeReference<Map<String, Object>>() {}));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void deleteSeed() {
+        jdbcTemplate.update("DELETE FROM oauth2_authorization WHERE id LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM oauth2_registered_client WHERE id LIKE ?", PREFIX + "%");
+    }
+}
@@ -0,0 +1,28 @@
+package com.ginkgooai.core.identity.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Database used by the benchmarks that need one. Read from the environment, which the forked
+ * benchmark JVMs inherit, and defaulting to the database of the test configuration.
+ */
+final class BenchmarkDatabase {
+
+    static final String URL = env("BENCHMARK_JDBC_URL", "jdbc:postgresql://127.0.0.1:15432/identity");
+    static final String USERNAME = env("BENCHMARK_JDBC_USERNAME", "postgres");
+    static final String PASSWORD = env("BENCHMARK_JDBC_PASSWORD", "postgres");
+
+    private BenchmarkDatabase() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+
+    private static String env(String name, String defaultValue) {
+        return Objects.requireNonNullElse(System.getenv(name), defaultValue);
+    }
+}
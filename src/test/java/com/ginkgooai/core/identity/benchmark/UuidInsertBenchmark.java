@@ -0,0 +1,99 @@
+package com.ginkgooai.core.identity.benchmark;
+
+import com.ginkgooai.core.identity.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a table keyed like user_info (a VARCHAR(36) primary key) with random
+ * UUIDv4 ids against time-ordered UUIDv7 ids, and the size of the primary key index each
+ * leaves behind. Random ids land on any leaf page and keep splitting half-full pages; ordered
+ * ids append to the rightmost leaf.
+ * <p>
+ * Needs a PostgreSQL database, by default the one of the test configuration; set
+ * {@code BENCHMARK_JDBC_URL}, {@code BENCHMARK_JDBC_USERNAME} and {@code BENCHMARK_JDBC_PASSWORD}
+ * to target another one. The index size is printed when each run ends.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UuidInsertBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum IdType {
+        V4(() -> UUID.randomUUID().toString()),
+        V7(UuidV7::generateString);
+
+        private final Supplier<String> generator;
+
+        IdType(Supplier<String> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"V4", "V7"})
+    public IdType idType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        table = "uuid_insert_benchmark_" + idType.name().toLowerCase();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id VARCHAR(36) PRIMARY KEY, email VARCHAR(255) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, email) VALUES (?, ?)");
+    }
+
+    /**
+     * One batch of {@value #BATCH_SIZE} rows in its own transaction, as the bulk import writes
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String id = idType.generator.get();
+            insert.setString(1, id);
+            insert.setString(2, id + "@example.com");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*), pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            rs.next();
+            long rows = rs.getLong(1);
+            long indexBytes = rs.getLong(2);
+            System.out.printf("%n%s: %d rows, primary key index %d KiB (%.1f bytes per row)%n",
+                    idType, rows, indexBytes / 1024, rows == 0 ? 0.0 : (double) indexBytes / rows);
+            statement.execute("DROP TABLE " + table);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ginkgooai.core.identity.security;
+
+import com.ginkgooai.core.identity.config.properties.JwtRevocationProperties;
+import com.ginkgooai.core.identity.domain.UserStatus;
+import com.ginkgooai.core.identity.dto.UserClaims;
+import com.ginkgooai.core.identity.service.CachedOAuth2AuthorizationService;
+import com.ginkgooai.core.identity.service.JwtRevocationService;
+import com.ginkgooai.core.identity.service.TokenManagementService;
+import com.ginkgooai.core.identity.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevokedJwtValidatorTest {
+
+    private static final String USER_ID = "0190f2a4-7c1e-7b9a-9d3e-2a6c1f0e4b7d";
+    private static final String EMAIL = "jane@example.com";
+
+    private final Map<String, String> redis = new HashMap<>();
+    private TokenManagementService tokenManagementService;
+    private RevokedJwtValidator validator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> redis.containsKey(invocation.<String>getArgument(0)));
+
+        JwtRevocationService jwtRevocationService = new JwtRevocationService(
+                redisTemplate, mock(RedisMessageListenerContainer.class), new JwtRevocationProperties());
+
+        UserService userService = mock(UserService.class);
+        when(userService.findUserClaims(anyString())).thenReturn(Optional.empty());
+        when(userService.findUserClaims(EMAIL)).thenReturn(Optional.of(
+                new UserClaims(USER_ID, EMAIL, "Jane", "Doe", List.of("ROLE_USER"), UserStatus.ACTIVE, false)));
+
+        tokenManagementService = new TokenManagementService(mock(CachedOAuth2AuthorizationService.class),
+                jwtRevocationService, mock(RegisteredClientRepository.class), userService);
+        validator = new RevokedJwtValidator(jwtRevocationService);
+    }
+
+    @Test
+    void rejectsTokenOfRevokedUserCarryingUserIdAsSubject() {
+        Jwt issuedBefore = jwt(USER_ID, Instant.now().minusSeconds(60));
+
+        assertThat(validator.validate(issuedBefore).hasErrors()).isFalse();
+
+        tokenManagementService.revokeTokens(EMAIL);
+
+        assertThat(validator.validate(issuedBefore).hasErrors()).isTrue();
+    }
+
+    @Test
+    void acceptsTokenIssuedAfterRevocation() {
+        tokenManagementService.revokeTokens(EMAIL);
+
+        assertThat(validator.validate(jwt(USER_ID, Instant.now().plusSeconds(60))).hasErrors()).isFalse();
+    }
+
+    @Test
+    void acceptsTokenOfOtherUser() {
+        tokenManagementService.revokeTokens(EMAIL);
+
+        assertThat(validator.validate(jwt("another-user-id", Instant.now().minusSeconds(60))).hasErrors()).isFalse();
+    }
+
+    private static Jwt jwt(String subject, Instant issuedAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+    }
+}
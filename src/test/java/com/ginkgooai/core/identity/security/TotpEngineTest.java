@@ -0,0 +1,145 @@
+package com.ginkgooai.core.identity.security;
+
+import com.ginkgooai.core.identity.config.properties.TotpProperties;
+import com.ginkgooai.core.identity.enums.TotpAlgorithm;
+import org.apache.commons.codec.binary.Base32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TotpEngineTest {
+
+    /**
+     * Seeds of RFC 6238 Appendix B, one per HMAC algorithm
+     */
+    private static final String SHA1_SECRET = base32("12345678901234567890");
+    private static final String SHA256_SECRET = base32("12345678901234567890123456789012");
+
+    private static final String MFA_ID = "mfa-1";
+
+    private final Map<String, Long> lastSteps = new HashMap<>();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        // Same contract as the accept-step script: record the step unless it is not newer
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenAnswer(invocation -> {
+            String key = invocation.<List<String>>getArgument(1).get(0);
+            long step = Long.parseLong(invocation.getArgument(2));
+            Long last = lastSteps.get(key);
+            if (last != null && last >= step) {
+                return 0L;
+            }
+            lastSteps.put(key, step);
+            return 1L;
+        });
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "59, SHA1, 94287082",
+            "1111111109, SHA1, 07081804",
+            "1111111111, SHA1, 14050471",
+            "1234567890, SHA1, 89005924",
+            "2000000000, SHA1, 69279037",
+            "20000000000, SHA1, 65353130",
+            "59, SHA256, 46119246",
+            "1111111109, SHA256, 68084774",
+            "1111111111, SHA256, 67062674",
+            "1234567890, SHA256, 91819424",
+            "2000000000, SHA256, 90698825",
+            "20000000000, SHA256, 77737706"
+    })
+    void acceptsRfc6238Vectors(long epochSecond, TotpAlgorithm algorithm, String code) {
+        String secret = algorithm == TotpAlgorithm.SHA1 ? SHA1_SECRET : SHA256_SECRET;
+
+        assertThat(engine(algorithm, 8, epochSecond).verify(MFA_ID, secret, code)).isTrue();
+    }
+
+    @Test
+    void acceptsSixDigitTruncationOfVector() {
+        assertThat(engine(TotpAlgorithm.SHA1, 6, 59).verify(MFA_ID, SHA1_SECRET, "287082")).isTrue();
+    }
+
+    @Test
+    void acceptsCodeOfPreviousStep() {
+        assertThat(engine(TotpAlgorithm.SHA1, 8, 59 + 30).verify(MFA_ID, SHA1_SECRET, "94287082")).isTrue();
+    }
+
+    @Test
+    void acceptsCodeOfNextStep() {
+        assertThat(engine(TotpAlgorithm.SHA1, 8, 59 - 30).verify(MFA_ID, SHA1_SECRET, "94287082")).isTrue();
+    }
+
+    @Test
+    void rejectsCodeOutsideWindow() {
+        assertThat(engine(TotpAlgorithm.SHA1, 8, 59 + 60).verify(MFA_ID, SHA1_SECRET, "94287082")).isFalse();
+        assertThat(engine(TotpAlgorithm.SHA1, 8, 1111111111 - 60).verify(MFA_ID, SHA1_SECRET, "14050471")).isFalse();
+    }
+
+    @Test
+    void rejectsReplayedCode() {
+        TotpEngine engine = engine(TotpAlgorithm.SHA1, 8, 59);
+
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "94287082")).isTrue();
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "94287082")).isFalse();
+    }
+
+    @Test
+    void rejectsCodeOfStepOlderThanLastAccepted() {
+        // 1111111109 and 1111111111 fall in consecutive steps, both within the window
+        TotpEngine engine = engine(TotpAlgorithm.SHA1, 8, 1111111111);
+
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "14050471")).isTrue();
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "07081804")).isFalse();
+    }
+
+    @Test
+    void replayProtectionIsPerMfaMethod() {
+        TotpEngine engine = engine(TotpAlgorithm.SHA1, 8, 59);
+
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "94287082")).isTrue();
+        assertThat(engine.verify("mfa-2", SHA1_SECRET, "94287082")).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedCodes() {
+        TotpEngine engine = engine(TotpAlgorithm.SHA1, 8, 59);
+
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, null)).isFalse();
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "4287082")).isFalse();
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "9428708a")).isFalse();
+        assertThat(engine.verify(MFA_ID, SHA1_SECRET, "-4287082")).isFalse();
+    }
+
+    private TotpEngine engine(TotpAlgorithm algorithm, int digits, long epochSecond) {
+        TotpProperties properties = new TotpProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setDigits(digits);
+        return new TotpEngine(properties, redisTemplate,
+                Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC));
+    }
+
+    private static String base32(String seed) {
+        return new Base32().encodeToString(seed.getBytes(StandardCharsets.US_ASCII));
+    }
+}